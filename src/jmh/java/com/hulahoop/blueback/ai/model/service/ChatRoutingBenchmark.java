@@ -0,0 +1,146 @@
+package com.hulahoop.blueback.ai.model.service;
+
+import com.hulahoop.blueback.ai.model.service.prompt.PromptSignals;
+import com.hulahoop.blueback.ai.model.service.prompt.Signal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 턴의 키워드 라우팅 비용: 이전 방식(라우터마다 contains / anyMatch / matches 반복) vs PromptSignals 한 번 스캔
+ * - 두 방식 모두 GeminiService → MovieIntentResolver → MovieBookingFlowHandler 전역 명령 → BikeFlowRouter
+ *   에서 내리는 판단을 전부 계산해 같은 결과 비트로 반환 (Setup 에서 결과 일치 확인)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatRoutingBenchmark {
+
+    @Param({ "영화 예매하고 싶어", "내일 잠실역 근처 자전거 빌려줘", "12월 25일 강남구 영화관 시간표 알려줘", "그만" })
+    public String prompt;
+
+    @Setup
+    public void setUp() {
+        if (legacyChains() != compiledSignals()) {
+            throw new IllegalStateException("라우팅 판단이 이전 방식과 다름: " + prompt);
+        }
+    }
+
+    @Benchmark
+    public int legacyChains() {
+        String lower = prompt.toLowerCase().trim();
+        int decisions = 0;
+
+        // GeminiService.routeTurn
+        decisions |= bit(0, isCancelIntent(prompt));
+        decisions |= bit(1, lower.contains("영화 예약") || lower.contains("영화 예매"));
+        decisions |= bit(2, lower.contains("자전거 예약") || lower.contains("따릉이 예약") || lower.contains("바이크 예약"));
+        decisions |= bit(3, lower.equals("예약"));
+        decisions |= bit(4, containsAny(lower, List.of("자전거", "따릉이", "바이크", "전기자전거")));
+        decisions |= bit(5, containsAny(lower, List.of("영화", "예매", "상영", "시간표")) || prompt.trim().matches("^\\d{10}$"));
+
+        // MovieIntentResolver.resolve
+        decisions |= legacyIntent(lower) << 6;
+
+        // MovieBookingFlowHandler.checkGlobalCommands
+        decisions |= bit(10, containsAny(lower, List.of("그만", "종료", "취소", "나가기", "닫기", "안할래")));
+        decisions |= bit(11, containsAny(lower, List.of("조회", "예매함", "예약함", "내역")));
+        decisions |= bit(12, containsAny(lower, List.of("자전거", "바이크")));
+
+        // BikeFlowRouter
+        decisions |= bit(13, lower.equals("취소") || lower.equals("종료") || lower.equals("그만")
+                || lower.equals("안할래") || lower.equals("끝") || lower.equals("나가기"));
+        decisions |= bit(14, lower.contains("자전거") || lower.contains("대여") || lower.contains("예약") || lower.contains("따릉이"));
+        return decisions;
+    }
+
+    @Benchmark
+    public int compiledSignals() {
+        PromptSignals s = PromptSignals.scan(prompt);
+        int decisions = 0;
+
+        decisions |= bit(0, s.hasAny(Signal.EXIT, Signal.EXIT_FINISH));
+        decisions |= bit(1, s.has(Signal.MOVIE_BOOKING));
+        decisions |= bit(2, s.has(Signal.BIKE_BOOKING));
+        decisions |= bit(3, s.has(Signal.RESERVE_ONLY));
+        decisions |= bit(4, s.hasAny(Signal.BIKE, Signal.DDAREUNGI, Signal.BIKE_ALIAS));
+        decisions |= bit(5, s.hasAny(Signal.MOVIE, Signal.BOOK, Signal.SCREENING, Signal.TIMETABLE) || s.isReservationNumber());
+
+        int intent;
+        if (s.isBlank() || s.isReservationNumber()) {
+            intent = 0;
+        } else if (s.has(Signal.MOVIE) && s.hasAny(Signal.BOOK, Signal.RESERVE) || s.has(Signal.MOVIE_BOOKING)) {
+            intent = 1;
+        } else if (s.hasAny(Signal.BOOK, Signal.RESERVE) && s.has(Signal.CANCEL) || s.has(Signal.MENU_2)) {
+            intent = 2;
+        } else if (s.has(Signal.MY_BOOKING) || s.has(Signal.MENU_1)) {
+            intent = 3;
+        } else if (s.hasAny(Signal.SCREENING, Signal.TIMETABLE, Signal.SCHEDULE)) {
+            intent = 4;
+        } else {
+            intent = 0;
+        }
+        decisions |= intent << 6;
+
+        decisions |= bit(10, s.has(Signal.STOP));
+        decisions |= bit(11, s.has(Signal.HISTORY));
+        decisions |= bit(12, s.hasAny(Signal.BIKE, Signal.BIKE_ALIAS));
+
+        decisions |= bit(13, s.has(Signal.EXIT));
+        decisions |= bit(14, s.hasAny(Signal.BIKE, Signal.RENTAL, Signal.RESERVE, Signal.DDAREUNGI));
+        return decisions;
+    }
+
+    // =========================================================
+    // 이전 방식 (PromptSignals 도입 전 라우터 코드 그대로)
+    // =========================================================
+
+    private static int legacyIntent(String input) {
+        if (input.isBlank() || input.matches("^\\d{10}$")) {
+            return 0;
+        }
+        if ((input.contains("영화") && input.contains("예매")) ||
+                (input.contains("영화") && input.contains("예약")) ||
+                input.contains("영화 예매")) {
+            return 1;
+        }
+        if ((input.contains("예매") && input.contains("취소")) ||
+                (input.contains("예약") && input.contains("취소")) ||
+                input.contains("예매 취소") ||
+                input.contains("예약 취소") ||
+                input.matches("^(2번|2)$")) {
+            return 2;
+        }
+        if (input.contains("내 예매") ||
+                input.contains("예매 확인") ||
+                input.contains("예약 확인") ||
+                input.matches("^(1번|1)$")) {
+            return 3;
+        }
+        if (input.contains("상영") || input.contains("시간표") || input.contains("스케줄")) {
+            return 4;
+        }
+        return 0;
+    }
+
+    private static boolean isCancelIntent(String text) {
+        String trimmed = text.trim();
+        return trimmed.equals("그만") ||
+                trimmed.equals("취소") ||
+                trimmed.equals("끝") ||
+                trimmed.equals("종료") ||
+                trimmed.equals("나가기") ||
+                trimmed.equals("끝내기") ||
+                trimmed.equals("안할래");
+    }
+
+    private static boolean containsAny(String text, List<String> keywords) {
+        String lower = text.toLowerCase();
+        return keywords.stream().anyMatch(lower::contains);
+    }
+
+    private static int bit(int position, boolean value) {
+        return value ? 1 << position : 0;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hulahoop.blueback.ai.model.service.movie;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 영화 예매 플로우의 인텐트 해석/목록 포맷팅 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieFlowBenchmark {
+
+    private final MovieIntentResolver resolver = new MovieIntentResolver();
+    private final MovieFormatter formatter = new MovieFormatter();
+
+    private List<Map<String, Object>> seats;
+    private List<Map<String, Object>> cinemas;
+
+    @Setup
+    public void setUp() {
+        // 10행 x 14열 상영관 (3, 12열 통로)
+        seats = new ArrayList<>();
+        int code = 1;
+        for (char row = 'A'; row <= 'J'; row++) {
+            for (int col = 1; col <= 14; col++) {
+                Map<String, Object> seat = new HashMap<>();
+                seat.put("seat_code", code++);
+                seat.put("row_label", String.valueOf(row));
+                seat.put("col_num", col);
+                seat.put("is_aisle", (col == 3 || col == 12) ? 1 : 0);
+                seat.put("reserved", col % 5 == 0);
+                seats.add(seat);
+            }
+        }
+
+        cinemas = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Map<String, Object> cinema = new HashMap<>();
+            cinema.put("branch_num", i + 1);
+            cinema.put("branch_name", "노바시네마 " + i + "호점");
+            cinema.put("address", "서울특별시 송파구 올림픽로 " + (100 + i));
+            cinema.put("distance", 0.37 * i);
+            cinemas.add(cinema);
+        }
+    }
+
+    @Benchmark
+    public Object resolveStartBooking() {
+        return resolver.resolve("영화 예매하고 싶어");
+    }
+
+    @Benchmark
+    public Object resolveUnknown() {
+        return resolver.resolve("오늘 날씨 어때?");
+    }
+
+    @Benchmark
+    public String formatSeats() {
+        return formatter.formatSeats(seats);
+    }
+
+    @Benchmark
+    public String formatCinemas() {
+        return formatter.formatCinemas(cinemas);
+    }
+}
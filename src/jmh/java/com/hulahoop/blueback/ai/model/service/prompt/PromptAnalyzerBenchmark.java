@@ -0,0 +1,108 @@
+package com.hulahoop.blueback.ai.model.service.prompt;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 한 턴의 프롬프트 파싱 비용: 이전 방식(핸들러마다 Pattern.compile / matches / replaceAll / split) vs PromptAnalyzer 한 번
+ * - 두 방식 모두 GeminiService 날짜 → 장소 키워드 → 날짜 필터 → 번호 → 좌석 → 시간 범위를 전부 계산
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PromptAnalyzerBenchmark {
+
+    @Param({ "내일 잠실역 근처 자전거 빌려줘", "12월 25일 강남구 영화관 시간표 알려줘", "A3, A4", "18:30 ~ 19:00" })
+    public String prompt;
+
+    @Benchmark
+    public void legacyParsers(Blackhole bh) {
+        bh.consume(legacyTargetDate(prompt));
+        bh.consume(legacyPlaceKeyword(prompt));
+        bh.consume(legacyDateFilter(prompt));
+        bh.consume(legacyIndex(prompt, 10));
+
+        for (String raw : prompt.split("[,\\s]+")) {
+            bh.consume(raw.trim().toUpperCase());
+        }
+
+        String[] parts = prompt.split("~");
+        if (parts.length == 2) {
+            String start = parts[0].trim().replaceAll("[^0-9:]", "");
+            String end = parts[1].trim().replaceAll("[^0-9:]", "");
+            bh.consume(legacyMinutes(start, end));
+        }
+    }
+
+    @Benchmark
+    public PromptAnalysis analyzer() {
+        return PromptAnalyzer.analyze(prompt);
+    }
+
+    // =========================================================
+    // 이전 방식 (PromptAnalyzer 도입 전 핸들러 코드 그대로)
+    // =========================================================
+
+    private static LocalDate legacyTargetDate(String text) {
+        text = text.toLowerCase().trim();
+        LocalDate today = LocalDate.now();
+        if (text.contains("내일"))
+            return today.plusDays(1);
+        if (text.contains("모레"))
+            return today.plusDays(2);
+        Matcher m = Pattern.compile("(\\d{1,2})월\\s*(\\d{1,2})일").matcher(text);
+        if (m.find()) {
+            return LocalDate.of(2025, Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)));
+        }
+        return today;
+    }
+
+    private static String legacyPlaceKeyword(String input) {
+        Matcher m = Pattern.compile("(\\S+역)|(\\S+동)|(\\S+구)|(\\S+시)").matcher(input);
+        return m.find() ? m.group() : null;
+    }
+
+    private static String legacyDateFilter(String userInput) {
+        String lower = userInput.toLowerCase();
+        if (lower.contains("오늘"))
+            return "today";
+        if (lower.contains("내일"))
+            return "tomorrow";
+        if (lower.matches(".*\\d{1,2}월\\s*\\d{1,2}일.*")) {
+            String month = lower.replaceAll(".*?(\\d{1,2})월.*", "$1");
+            String day = lower.replaceAll(".*?(\\d{1,2})일.*", "$1");
+            return "2025-" + month + "-" + day;
+        }
+        return null;
+    }
+
+    private static Integer legacyIndex(String input, int maxSize) {
+        String digits = input.replaceAll("[^0-9]", "");
+        if (digits.isEmpty())
+            return null;
+        int v = Integer.parseInt(digits);
+        return (v >= 1 && v <= maxSize) ? v : null;
+    }
+
+    private static long legacyMinutes(String startTime, String endTime) {
+        try {
+            if (startTime.length() != 5 || endTime.length() != 5) {
+                throw new IllegalArgumentException("Invalid time format");
+            }
+            LocalTime start = LocalTime.parse(startTime, DateTimeFormatter.ofPattern("HH:mm"));
+            LocalTime end = LocalTime.parse(endTime, DateTimeFormatter.ofPattern("HH:mm"));
+            long minutes = Duration.between(start, end).toMinutes();
+            return minutes < 0 ? minutes + 24 * 60 : minutes;
+        } catch (Exception e) {
+            return 30;
+        }
+    }
+}
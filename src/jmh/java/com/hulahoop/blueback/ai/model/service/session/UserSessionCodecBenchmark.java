@@ -0,0 +1,156 @@
+package com.hulahoop.blueback.ai.model.service.session;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세션 직렬화 비용: Jackson JSON vs UserSessionCodec (v1 / v2)
+ * - 좌석 선택 단계까지 진행한 영화 예매 세션 기준 (지점 5, 상영 6, 좌석 96, 대화 기록 12)
+ * - 크기는 Setup 에서 한 번 출력, 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserSessionCodecBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UserSession session;
+    private byte[] json;
+    private byte[] v1;
+    private byte[] v2;
+
+    @Setup
+    public void setUp() throws Exception {
+        session = movieSession();
+        json = jsonEncode();
+        v1 = UserSessionCodec.encodeV1(session);
+        v2 = binaryEncode();
+        System.out.printf("%n세션 크기 — JSON: %d B, v1: %d B, v2: %d B%n", json.length, v1.length, v2.length);
+
+        if (!jsonDecode().getLastSeats().equals(binaryDecode().getLastSeats())) {
+            throw new IllegalStateException("JSON 과 바이너리 복원 결과가 다름");
+        }
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws Exception {
+        Map<String, Object> tree = new LinkedHashMap<>();
+        tree.put("step", session.getStep().name());
+        tree.put("flowType", session.getFlowType().name());
+        tree.put("cancelState", session.getCancelState());
+        tree.put("selectedReservation", session.getSelectedReservation());
+        tree.put("bookingContext", session.getBookingContext());
+        tree.put("lastCinemas", session.getLastCinemas());
+        tree.put("lastMovies", session.getLastMovies());
+        tree.put("lastSeats", session.getLastSeats());
+        tree.put("lastBikes", session.getLastBikes());
+        tree.put("history", session.getHistory());
+        return objectMapper.writeValueAsBytes(tree);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public UserSession jsonDecode() throws Exception {
+        Map<String, Object> tree = objectMapper.readValue(json, MAP_TYPE);
+        UserSession restored = new UserSession();
+        restored.setStep(UserSession.Step.valueOf((String) tree.get("step")));
+        restored.setFlowType(UserSession.FlowType.valueOf((String) tree.get("flowType")));
+        restored.setCancelState((String) tree.get("cancelState"));
+        restored.setSelectedReservation((String) tree.get("selectedReservation"));
+        restored.getBookingContext().putAll((Map<String, Object>) tree.get("bookingContext"));
+        restored.setLastCinemas((List<Map<String, Object>>) tree.get("lastCinemas"));
+        restored.setLastMovies((List<Map<String, Object>>) tree.get("lastMovies"));
+        restored.setLastSeats((List<Map<String, Object>>) tree.get("lastSeats"));
+        restored.setLastBikes((List<Map<String, Object>>) tree.get("lastBikes"));
+        for (Map<String, Object> entry : (List<Map<String, Object>>) tree.get("history")) {
+            restored.addHistory(entry);
+        }
+        return restored;
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return UserSessionCodec.encode(session);
+    }
+
+    @Benchmark
+    public UserSession binaryDecode() {
+        return UserSessionCodec.decode(v2);
+    }
+
+    @Benchmark
+    public UserSession binaryDecodeV1() {
+        return UserSessionCodec.decode(v1);
+    }
+
+    private static UserSession movieSession() {
+        UserSession session = new UserSession();
+        session.setStep(UserSession.Step.SEAT_SELECT);
+        session.setFlowType(UserSession.FlowType.MOVIE);
+
+        Map<String, Object> context = session.getBookingContext();
+        context.put("targetDate", "2025-05-01");
+        context.put("dateFilter", "today");
+        context.put("branchNum", "101");
+        context.put("branchName", "강남점");
+        context.put("scheduleNum", "5501");
+        context.put("movieTitle", "인사이드 아웃 2");
+
+        List<Map<String, Object>> cinemas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> cinema = new LinkedHashMap<>();
+            cinema.put("branch_num", 101 + i);
+            cinema.put("branch_name", "훌라후프시네마 지점 " + i);
+            cinema.put("address", "서울특별시 강남구 테헤란로 " + (100 + i));
+            cinema.put("distance", 1.2 + i);
+            cinema.put("latitude", 37.49 + i * 0.01);
+            cinema.put("longitude", 127.02 + i * 0.01);
+            cinemas.add(cinema);
+        }
+        session.setLastCinemas(cinemas);
+
+        List<Map<String, Object>> movies = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Map<String, Object> movie = new LinkedHashMap<>();
+            movie.put("scheduleNum", 5500 + i);
+            movie.put("movieTitle", i % 2 == 0 ? "인사이드 아웃 2" : "파묘");
+            movie.put("screeningDate", "2025-05-01 1" + i + ":00");
+            movie.put("screeningNumber", i % 3 + 1);
+            movie.put("branchName", "강남점");
+            movies.add(movie);
+        }
+        session.setLastMovies(movies);
+
+        List<Map<String, Object>> seats = new ArrayList<>();
+        for (char row = 'A'; row <= 'H'; row++) {
+            for (int col = 1; col <= 12; col++) {
+                Map<String, Object> seat = new LinkedHashMap<>();
+                seat.put("seat_code", "S" + row + col);
+                seat.put("row_label", String.valueOf(row));
+                seat.put("col_num", col);
+                seat.put("is_aisle", col == 4 || col == 9 ? 1 : 0);
+                seat.put("reserved", (row + col) % 5 == 0);
+                seats.add(seat);
+            }
+        }
+        session.setLastSeats(seats);
+
+        for (int i = 0; i < 12; i++) {
+            String role = i % 2 == 0 ? "user" : "model";
+            String text = i % 2 == 0 ? "강남점 " + i + "번 상영 좌석 보여줘" : "좌석 배치도입니다. 원하시는 좌석을 골라주세요. (" + i + ")";
+            session.addHistory(Map.of("role", role, "parts", List.of(Map.of("text", text))));
+        }
+        return session;
+    }
+}
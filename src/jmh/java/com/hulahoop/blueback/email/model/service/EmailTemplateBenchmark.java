@@ -0,0 +1,38 @@
+package com.hulahoop.blueback.email.model.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 예약 메일 본문 생성 비용: 이전 방식(String.format) vs 미리 컴파일된 템플릿
+ * - 메일 한 통당 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmailTemplateBenchmark {
+
+    private final String movieTitle = "듄: 파트 2";
+    private final String showtime = "2025-11-20 19:30";
+    private final String seats = "F7, F8";
+    private final int amount = 28000;
+
+    @Setup
+    public void setUp() {
+        if (!legacy().equals(precompiled())) {
+            throw new IllegalStateException("템플릿 출력이 이전 방식과 다름");
+        }
+    }
+
+    @Benchmark
+    public String legacy() {
+        // 템플릿 도입 전 EmailService 의 String.format 본문 원본 (src/test 의 LegacyEmailBodies)
+        return LegacyEmailBodies.movie(movieTitle, showtime, seats, amount);
+    }
+
+    @Benchmark
+    public String precompiled() {
+        return EmailTemplates.MOVIE_RESERVATION.render(movieTitle, showtime, seats, MailTemplate.formatAmount(amount));
+    }
+}
@@ -0,0 +1,246 @@
+package com.hulahoop.blueback.history.model.dao;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 거래 내역 조회: 행마다 EXISTS 상관 서브쿼리 vs 취소 집합(T_TransactionCancel) 조인
+ *
+ * 로컬 MySQL 의 빈 스키마를 지정해서 실행 (테이블이 없으면 생성 후 데이터를 채움, 기존 테이블은 지우지 않음)
+ * <pre>
+ * java -Dbench.jdbc.url=jdbc:mysql://localhost:3306/hulahoop_bench?rewriteBatchedStatements=true \
+ *      -Dbench.jdbc.user=root -Dbench.jdbc.password=... -jar build/libs/*-jmh.jar HistoryQueryBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HistoryQueryBenchmark {
+
+    // 시드 규모: 회원 2,000명 / 거래 200,000건 (그중 헤비 유저 1명이 5,000건), 약 10% 취소
+    private static final int MEMBERS = 2_000;
+    private static final int TRANSACTIONS = 200_000;
+    private static final int HEAVY_USER_TRANSACTIONS = 5_000;
+    private static final double CANCEL_RATIO = 0.1;
+    private static final String HEAVY_MEMBER = "U000000001";
+
+    private static final String LEGACY_SQL = """
+            SELECT t.transaction_num, m.name AS member_name, mc.merchant_name, t.amount_used, t.payment_date,
+                   CASE WHEN EXISTS (SELECT 1 FROM T_TransactionHistory cancel
+                                     WHERE cancel.original_transaction_num = t.transaction_num) THEN 'R'
+                        ELSE t.status END AS status,
+                   t.start_date, t.end_date
+            FROM T_TransactionHistory t
+            JOIN T_Member m ON t.member_code = m.member_code
+            JOIN T_Merchant mc ON t.merchant_code = mc.merchant_code
+            WHERE t.member_code = ? AND t.status != 'R'
+              AND (? = ''
+                   OR (? = 'R' AND EXISTS (SELECT 1 FROM T_TransactionHistory cancel
+                                           WHERE cancel.original_transaction_num = t.transaction_num))
+                   OR (? != 'R' AND t.status = ? AND NOT EXISTS (SELECT 1 FROM T_TransactionHistory cancel
+                                           WHERE cancel.original_transaction_num = t.transaction_num)))
+            ORDER BY t.payment_date DESC, t.transaction_num DESC
+            """;
+
+    private static final String CANCEL_SET_SQL = """
+            SELECT t.transaction_num, m.name AS member_name, mc.merchant_name, t.amount_used, t.payment_date,
+                   CASE WHEN c.original_transaction_num IS NOT NULL THEN 'R' ELSE t.status END AS status,
+                   t.start_date, t.end_date
+            FROM T_TransactionHistory t
+            JOIN T_Member m ON t.member_code = m.member_code
+            JOIN T_Merchant mc ON t.merchant_code = mc.merchant_code
+            LEFT JOIN T_TransactionCancel c ON c.original_transaction_num = t.transaction_num
+            WHERE t.member_code = ? AND t.status != 'R'
+              AND (? = ''
+                   OR (? = 'R' AND c.original_transaction_num IS NOT NULL)
+                   OR (? != 'R' AND t.status = ? AND c.original_transaction_num IS NULL))
+            ORDER BY t.payment_date DESC, t.transaction_num DESC
+            """;
+
+    /** 상태 필터 ("" = 전체) */
+    @Param({ "", "R", "S" })
+    public String status;
+
+    private Connection connection;
+    private PreparedStatement legacy;
+    private PreparedStatement cancelSet;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String url = System.getProperty("bench.jdbc.url");
+        if (url == null) {
+            throw new IllegalStateException("-Dbench.jdbc.url 이 필요합니다 (로컬 MySQL 벤치마크용 빈 스키마)");
+        }
+        connection = DriverManager.getConnection(url,
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", ""));
+
+        if (!tableExists("T_TransactionHistory")) {
+            seed();
+        }
+        // 서버 시작 때처럼 매번 실행 (여러 번 실행해도 같은 결과)
+        runScript("db/transaction_cancel_set.sql");
+
+        legacy = connection.prepareStatement(LEGACY_SQL);
+        cancelSet = connection.prepareStatement(CANCEL_SET_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public void legacyExists(Blackhole bh) throws SQLException {
+        consume(legacy, bh);
+    }
+
+    @Benchmark
+    public void cancelSetJoin(Blackhole bh) throws SQLException {
+        consume(cancelSet, bh);
+    }
+
+    private void consume(PreparedStatement ps, Blackhole bh) throws SQLException {
+        ps.setString(1, HEAVY_MEMBER);
+        for (int i = 2; i <= 5; i++) { // 상태 필터 자리 4개
+            ps.setString(i, status);
+        }
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getLong(1));
+                bh.consume(rs.getString(6));
+            }
+        }
+    }
+
+    // ======================================================
+    // 시드 데이터
+    // ======================================================
+
+    private boolean tableExists(String table) throws SQLException {
+        DatabaseMetaData meta = connection.getMetaData();
+        try (ResultSet rs = meta.getTables(connection.getCatalog(), null, table, new String[] { "TABLE" })) {
+            return rs.next();
+        }
+    }
+
+    private void seed() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE T_Member (member_code VARCHAR(10) PRIMARY KEY, name VARCHAR(50) NOT NULL)");
+            st.execute("CREATE TABLE T_Merchant (merchant_code VARCHAR(10) PRIMARY KEY, merchant_name VARCHAR(50) NOT NULL)");
+            st.execute("""
+                    CREATE TABLE T_TransactionHistory (
+                        transaction_num BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        member_code VARCHAR(10) NOT NULL,
+                        merchant_code VARCHAR(10) NOT NULL,
+                        amount_used DECIMAL(12, 2) NOT NULL,
+                        payment_date DATE NOT NULL,
+                        status CHAR(1) NOT NULL,
+                        start_date DATETIME,
+                        end_date DATETIME,
+                        original_transaction_num BIGINT NULL,
+                        KEY idx_original (original_transaction_num),
+                        KEY idx_member (member_code)
+                    )""");
+            st.execute("INSERT INTO T_Merchant VALUES ('M000000001', '노바시네마'), ('B000000001', '바이크웨이')");
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement member = connection.prepareStatement("INSERT INTO T_Member VALUES (?, ?)")) {
+            for (int i = 1; i <= MEMBERS; i++) {
+                member.setString(1, String.format("U%09d", i));
+                member.setString(2, "회원" + i);
+                member.addBatch();
+            }
+            member.executeBatch();
+        }
+
+        Random random = new Random(19);
+        LocalDate today = LocalDate.of(2025, 11, 1);
+        String insert = "INSERT INTO T_TransactionHistory (transaction_num, member_code, merchant_code, amount_used, "
+                + "payment_date, status, start_date, end_date, original_transaction_num) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long num = 0;
+        try (PreparedStatement tx = connection.prepareStatement(insert)) {
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                int memberNo = i < HEAVY_USER_TRANSACTIONS ? 1 : 2 + random.nextInt(MEMBERS - 1);
+                LocalDate paid = today.minusDays(random.nextInt(730));
+                String merchant = random.nextBoolean() ? "M000000001" : "B000000001";
+                long original = ++num;
+                addRow(tx, original, memberNo, merchant, paid, random.nextInt(10) == 0 ? "P" : "S", null);
+
+                if (random.nextDouble() < CANCEL_RATIO) {
+                    addRow(tx, ++num, memberNo, merchant, paid, "R", original);
+                }
+                if (i % 2_000 == 1_999) {
+                    tx.executeBatch();
+                }
+            }
+            tx.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private static void addRow(PreparedStatement tx, long num, int memberNo, String merchant, LocalDate paid,
+            String status, Long original) throws SQLException {
+        LocalDateTime start = paid.atTime(10, 0);
+        tx.setLong(1, num);
+        tx.setString(2, String.format("U%09d", memberNo));
+        tx.setString(3, merchant);
+        tx.setBigDecimal(4, BigDecimal.valueOf(14_000));
+        tx.setObject(5, paid);
+        tx.setString(6, status);
+        tx.setTimestamp(7, Timestamp.valueOf(start));
+        tx.setTimestamp(8, Timestamp.valueOf(start.plusHours(2)));
+        if (original == null) {
+            tx.setNull(9, Types.BIGINT);
+        } else {
+            tx.setLong(9, original);
+        }
+        tx.addBatch();
+    }
+
+    private void runScript(String resource) throws IOException, SQLException {
+        String script;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("스크립트 없음: " + resource);
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        StringBuilder sql = new StringBuilder();
+        try (Statement st = connection.createStatement()) {
+            for (String line : script.split("\n")) {
+                if (line.isBlank() || line.trim().startsWith("--")) {
+                    continue;
+                }
+                sql.append(line).append('\n');
+                if (line.trim().endsWith(";")) {
+                    st.execute(sql.substring(0, sql.lastIndexOf(";")));
+                    sql.setLength(0);
+                }
+            }
+        }
+    }
+}
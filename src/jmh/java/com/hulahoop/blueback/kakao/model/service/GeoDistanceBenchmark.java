@@ -0,0 +1,96 @@
+package com.hulahoop.blueback.kakao.model.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 거리 계산 / 가까운 자전거 정렬 비용 (전체 정렬 vs 격자 인덱스 top-K)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeoDistanceBenchmark {
+
+    @Param({ "100", "10000" })
+    public int bikeCount;
+
+    private KakaoLocalService kakaoLocalService;
+    private List<Map<String, Object>> bikes;
+    private final Map<String, Object> basis = Map.of("lat", 37.5133, "lng", 127.1001);
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        kakaoLocalService = new KakaoLocalService(
+                new GeocodeCache(registry, 100, Duration.ofDays(1), Duration.ofMinutes(1)),
+                new GeocodeStore("build/jmh-geocode-store.tsv", false),
+                registry, "sequential", 1, Duration.ofSeconds(2), Duration.ofSeconds(3));
+
+        // 서울 일대에 무작위로 흩어진 자전거
+        Random random = new Random(42);
+        bikes = new ArrayList<>(bikeCount);
+        for (int i = 0; i < bikeCount; i++) {
+            Map<String, Object> bike = new HashMap<>();
+            bike.put("bicycleCode", "B" + i);
+            bike.put("latitude", 37.45 + random.nextDouble() * 0.2);
+            bike.put("longitude", 126.85 + random.nextDouble() * 0.35);
+            bikes.add(bike);
+        }
+    }
+
+    @Benchmark
+    public double calculateDistance() {
+        return kakaoLocalService.calculateDistance(37.5133, 127.1001, 37.5665, 126.9780);
+    }
+
+    @Benchmark
+    public Object sortBikesByDistance() {
+        // 매번 원래 순서의 복사본을 정렬 (이미 정렬된 목록을 다시 정렬하지 않도록)
+        return sortBikesByDistance(basis, new ArrayList<>(bikes));
+    }
+
+    @Benchmark
+    public Object nearestBikes() {
+        return kakaoLocalService.nearestBikes(basis, bikes, 10);
+    }
+
+    // ---- 비교 기준: 예전 KakaoLocalService.sortBikesByDistance (전체 거리 계산 후 전체 정렬) ----
+    private List<Map<String, Object>> sortBikesByDistance(
+            Map<String, Object> basisCoord,
+            List<Map<String, Object>> bikes) {
+        double userLat = (double) basisCoord.get("lat");
+        double userLng = (double) basisCoord.get("lng");
+
+        for (Map<String, Object> bike : bikes) {
+            Object latObj = bike.get("latitude");
+            Object lngObj = bike.get("longitude");
+
+            if (latObj == null || lngObj == null) {
+                bike.put("distance", 9999.0);
+                continue;
+            }
+
+            double bikeLat = (latObj instanceof Number) ? ((Number) latObj).doubleValue()
+                    : Double.parseDouble(latObj.toString());
+            double bikeLng = (lngObj instanceof Number) ? ((Number) lngObj).doubleValue()
+                    : Double.parseDouble(lngObj.toString());
+
+            double dist = kakaoLocalService.calculateDistance(userLat, userLng, bikeLat, bikeLng);
+            bike.put("distance", Math.round(dist * 100) / 100.0);
+        }
+
+        bikes.sort(Comparator.comparingDouble(
+                b -> Double.parseDouble(b.get("distance").toString())));
+
+        return bikes;
+    }
+}
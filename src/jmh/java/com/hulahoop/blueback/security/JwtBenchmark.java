@@ -0,0 +1,66 @@
+package com.hulahoop.blueback.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtFilter 가 요청마다 수행하는 토큰 검증 비용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private Key key;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtUtil = new JwtUtil();
+        set("secret", SECRET);
+        set("expirationMs", 3_600_000L);
+        jwtUtil.init();
+        token = jwtUtil.generateToken("benchUser");
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+    }
+
+    private void set(String name, Object value) throws Exception {
+        Field field = JwtUtil.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtUtil, value);
+    }
+
+    /** validateToken → extractUsername (공유 파서, 2회 파싱) */
+    @Benchmark
+    public void validateThenExtract(Blackhole bh) {
+        bh.consume(jwtUtil.validateToken(token));
+        bh.consume(jwtUtil.extractUsername(token));
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    /** 이전 필터 경로: 요청마다 파서를 새로 만들어 validateToken → extractUsername */
+    @Benchmark
+    public String legacyRebuildParser() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    /** 단일 파싱 경로: verify (JwtFilter 현재 경로) */
+    @Benchmark
+    public String verify() {
+        return jwtUtil.verify(token).getUsername();
+    }
+}
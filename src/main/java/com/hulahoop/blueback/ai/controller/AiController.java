@@ -3,8 +3,11 @@ package com.hulahoop.blueback.ai.controller;
 import com.hulahoop.blueback.ai.model.dto.AiResponseDTO;
 import com.hulahoop.blueback.ai.model.service.GeminiService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.security.Principal;
 import java.util.Map;
@@ -39,6 +42,28 @@ public class AiController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * ⚡ AI 대화 요청 (SSE 스트리밍)
+     * - token: 생성되는 텍스트 조각 / done: 최종 응답 / message: 예약 플로우 응답 / error: 오류
+     */
+    @PostMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> askStream(
+            @RequestBody Map<String, String> request,
+            Principal principal
+    ) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Flux.just(ServerSentEvent.<Object>builder(Map.of("error", "로그인이 필요한 서비스입니다."))
+                            .event("error")
+                            .build()));
+        }
+
+        String message = request.get("message");
+        String userId = principal.getName();
+
+        return ResponseEntity.ok(geminiService.streamGemini(message, userId));
+    }
+
     /**
      * 🧹 세션 초기화
      */
@@ -5,6 +5,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
@@ -22,14 +23,15 @@ public class IntentController {
 
     // AI가 intent를 감지했을 때 게이트웨이로 전달
     @PostMapping("/dispatch")
-    public ResponseEntity<Map<String, Object>> handleIntent(@RequestBody Map<String, Object> payload) {
+    public Mono<ResponseEntity<Map<String, Object>>> handleIntent(@RequestBody Map<String, Object> payload) {
         String intent = (String) payload.get("intent");
         Map<String, Object> data = (Map<String, Object>) payload.get("data");
 
         log.info("intent: {}", intent);
         log.info("data: {}", data);
 
-        Map<String, Object> result = intentService.processIntent(intent, data);
-        return ResponseEntity.ok(result);
+        // 게이트웨이 응답을 기다리는 동안 서블릿 스레드를 점유하지 않음
+        return intentService.processIntentAsync(intent, data)
+                .map(ResponseEntity::ok);
     }
 }
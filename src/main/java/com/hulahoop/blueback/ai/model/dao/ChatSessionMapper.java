@@ -0,0 +1,31 @@
+package com.hulahoop.blueback.ai.model.dao;
+
+import com.hulahoop.blueback.ai.model.dto.ChatSessionRowDTO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface ChatSessionMapper {
+
+    // ✅ 직렬화된 세션 + version 조회 (없으면 null)
+    ChatSessionRowDTO findSession(@Param("userId") String userId);
+
+    // ✅ 현재 version 만 조회 (없으면 null)
+    Long findVersion(@Param("userId") String userId);
+
+    // ✅ 세션 최초 저장 (version 1, 이미 있으면 0)
+    int insertIfAbsent(@Param("userId") String userId,
+            @Param("data") byte[] data,
+            @Param("step") String step);
+
+    // ✅ 읽었던 version 그대로일 때만 덮어쓰고 version + 1 (다른 노드가 먼저 썼으면 0)
+    int updateIfVersion(@Param("userId") String userId,
+            @Param("data") byte[] data,
+            @Param("step") String step,
+            @Param("version") long version);
+
+    int delete(@Param("userId") String userId);
+
+    // ✅ idleSeconds 동안 저장되지 않은 세션 삭제
+    int deleteIdle(@Param("idleSeconds") long idleSeconds);
+}
@@ -0,0 +1,33 @@
+package com.hulahoop.blueback.ai.model.dto;
+
+/**
+ * T_ChatSession 한 행 (직렬화된 세션 + 낙관적 잠금용 version)
+ */
+public class ChatSessionRowDTO {
+    private byte[] data;
+    private long version;
+
+    public ChatSessionRowDTO() {
+    }
+
+    public ChatSessionRowDTO(byte[] data, long version) {
+        this.data = data;
+        this.version = version;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -3,55 +3,220 @@ package com.hulahoop.blueback.ai.model.service;
 import com.hulahoop.blueback.ai.model.dto.AiResponseDTO;
 import com.hulahoop.blueback.ai.model.service.bike.BikeFlowRouter;
 import com.hulahoop.blueback.ai.model.service.movie.MovieFlowRouter;
+import com.hulahoop.blueback.ai.model.service.prompt.PromptSignals;
+import com.hulahoop.blueback.ai.model.service.prompt.Signal;
 import com.hulahoop.blueback.ai.model.service.session.UserSession;
+import com.hulahoop.blueback.ai.model.service.session.UserSessionRepository;
+import com.hulahoop.blueback.ai.model.service.session.UserTurnLocks;
+import com.hulahoop.blueback.member.model.service.MemberLookupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @Service
 public class GeminiService {
 
+    private static final Logger log = LoggerFactory.getLogger(GeminiService.class);
+
+    private static final ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>> GEMINI_SSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
     private final RestTemplate restTemplate = new RestTemplate();
+    private final WebClient webClient;
     private final MovieFlowRouter movieFlowRouter;
     private final BikeFlowRouter bikeFlowRouter;
 
-    private final Map<String, UserSession> userSessions = new HashMap<>();
+    // 사용자별 세션 (TTL/최대 개수 제한이 있는 저장소)
+    private final UserSessionRepository sessionStore;
+    private final HistoryCompactor historyCompactor;
+    private final MemberLookupService memberLookupService;
+    private final MembershipVerificationService membershipVerificationService;
+
+    // 같은 사용자의 턴만 직렬화하고, 서로 다른 사용자는 병렬로 처리
+    private final UserTurnLocks turnLocks = new UserTurnLocks();
 
     @Value("${gemini.api.key}")
     private String apiKey;
 
     private final String baseUrl = "https://generativelanguage.googleapis.com/v1/models/gemini-2.5-flash:generateContent";
+    private final String streamUrl = "https://generativelanguage.googleapis.com/v1/models/gemini-2.5-flash:streamGenerateContent";
 
     public GeminiService(MovieFlowRouter movieFlowRouter,
-            BikeFlowRouter bikeFlowRouter) {
+            BikeFlowRouter bikeFlowRouter,
+            UserSessionRepository sessionStore,
+            HistoryCompactor historyCompactor,
+            MemberLookupService memberLookupService,
+            MembershipVerificationService membershipVerificationService,
+            WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder.build();
         this.movieFlowRouter = movieFlowRouter;
         this.bikeFlowRouter = bikeFlowRouter;
+        this.sessionStore = sessionStore;
+        this.historyCompactor = historyCompactor;
+        this.memberLookupService = memberLookupService;
+        this.membershipVerificationService = membershipVerificationService;
     }
 
-    public synchronized AiResponseDTO askGemini(String prompt, String userId) {
+    public AiResponseDTO askGemini(String prompt, String userId) {
 
         if (userId == null || userId.isBlank()) {
             return new AiResponseDTO("유효하지 않은 사용자입니다. 다시 로그인해주세요.");
         }
 
-        userSessions.putIfAbsent(userId, new UserSession());
-        UserSession session = userSessions.get(userId);
+        return turnLocks.withLock(userId, () -> {
+            try {
+                // 턴 안에서는 회원 조회를 한 번만 수행
+                return memberLookupService.inTurn(() -> handleTurn(prompt, userId));
+            } finally {
+                sessionStore.afterTurn(userId);
+            }
+        });
+    }
+
+    private AiResponseDTO handleTurn(String prompt, String userId) {
+        UserSession session = sessionStore.getOrCreate(userId);
+
+        AiResponseDTO routed = routeTurn(prompt, session, userId);
+        if (routed != null) {
+            return routed;
+        }
+
+        // ✅ 6) 자유 대화 모드
+        return callGeminiFreeChat(session.getHistory());
+    }
+
+    /**
+     * 💬 스트리밍 응답 (SSE)
+     * - 예약/취소 플로우로 라우팅되는 턴은 완성된 응답을 "message" 이벤트 하나로 전송
+     * - 자유 대화는 Gemini streamGenerateContent 결과를 "token" 이벤트로 바로 전달하고,
+     *   스트림이 끝나면 전체 응답을 대화 기록에 추가한 뒤 "done" 이벤트 전송
+     */
+    public Flux<ServerSentEvent<Object>> streamGemini(String prompt, String userId) {
+
+        if (userId == null || userId.isBlank()) {
+            return Flux.just(sse("message", new AiResponseDTO("유효하지 않은 사용자입니다. 다시 로그인해주세요.")));
+        }
+
+        return Mono.fromCallable(() -> turnLocks.withLock(userId, () -> {
+            try {
+                UserSession session = sessionStore.getOrCreate(userId);
+                AiResponseDTO routed = memberLookupService.inTurn(() -> routeTurn(prompt, session, userId));
+                if (routed != null) {
+                    return new TurnPlan(routed, null);
+                }
+                return new TurnPlan(null, historyCompactor.buildRequestBody(session.getHistory()));
+            } catch (Exception e) {
+                return new TurnPlan(new AiResponseDTO("현재 AI 응답이 원활하지 않습니다. 잠시 후 다시 시도해주세요."), null);
+            } finally {
+                sessionStore.afterTurn(userId);
+            }
+        }))
+                .subscribeOn(Schedulers.boundedElastic()) // 플로우 핸들러는 블로킹 호출을 포함
+                .flatMapMany(plan -> plan.response() != null
+                        ? Flux.just(sse("message", plan.response()))
+                        : streamFreeChat(plan.requestBody(), userId));
+    }
+
+    private record TurnPlan(AiResponseDTO response, byte[] requestBody) {
+    }
+
+    private Flux<ServerSentEvent<Object>> streamFreeChat(byte[] requestBody, String userId) {
+        StringBuilder fullText = new StringBuilder();
+
+        Flux<ServerSentEvent<Object>> tokens = webClient.post()
+                .uri(streamUrl + "?alt=sse&key={key}", apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToFlux(GEMINI_SSE_TYPE)
+                .map(event -> extractText(event.data()))
+                .filter(text -> !text.isEmpty())
+                .doOnNext(fullText::append)
+                .map(text -> sse("token", text));
+
+        Flux<ServerSentEvent<Object>> done = Mono.fromCallable(() -> {
+            appendModelTurn(userId, fullText.toString());
+            return sse("done", new AiResponseDTO(fullText.toString()));
+        }).flux();
+
+        return tokens.concatWith(done)
+                .onErrorResume(e -> {
+                    log.warn("Gemini 스트리밍 실패: {}", e.getMessage());
+                    return Flux.just(sse("error",
+                            new AiResponseDTO("현재 AI 응답이 원활하지 않습니다. 잠시 후 다시 시도해주세요.")));
+                });
+    }
+
+    private void appendModelTurn(String userId, String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+        turnLocks.withLock(userId, () -> {
+            UserSession session = sessionStore.find(userId);
+            if (session != null) {
+                session.getHistory().add(Map.of("role", "model", "parts", List.of(Map.of("text", text))));
+            }
+            sessionStore.afterTurn(userId);
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private String extractText(Map<String, Object> chunk) {
+        if (chunk == null || !(chunk.get("candidates") instanceof List<?> cand) || cand.isEmpty()) {
+            return "";
+        }
+        Object content = ((Map<String, Object>) cand.get(0)).get("content");
+        if (!(content instanceof Map<?, ?> contentMap) || !(contentMap.get("parts") instanceof List<?> parts)) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Object part : parts) {
+            if (part instanceof Map<?, ?> p && p.get("text") != null) {
+                sb.append(p.get("text"));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static ServerSentEvent<Object> sse(String event, Object data) {
+        return ServerSentEvent.builder(data).event(event).build();
+    }
+
+    /**
+     * 플로우 라우팅 — 처리된 응답을 반환하고, 자유 대화로 넘겨야 하면 null 반환
+     */
+    private AiResponseDTO routeTurn(String prompt, UserSession session, String userId) {
+
+        // 세션의 첫 턴이면 제휴사 회원 여부를 미리 확인 (예매 시작 시 캐시에서 바로 응답)
+        if (session.getHistory().isEmpty()) {
+            membershipVerificationService.prefetchForUser(userId);
+        }
 
         session.getHistory().add(Map.of("role", "user", "parts", List.of(Map.of("text", prompt))));
 
-        LocalDate parsedDate = extractDateFromText(prompt);
+        // 날짜/장소/좌석 등도 한 번만 파싱해 두고 핸들러가 같은 결과 사용
+        LocalDate parsedDate = session.analysisFor(prompt).targetDate();
         session.getBookingContext().put("targetDate", parsedDate.toString());
 
-        String lower = prompt.toLowerCase().trim();
+        // 프롬프트를 한 번만 스캔해 모든 라우팅 신호를 구함 (이후 라우터/핸들러도 같은 결과 사용)
+        PromptSignals signals = session.signalsFor(prompt);
 
         // ✅ 0) 영화 취소 플로우 우선 처리
-        if (movieFlowRouter.isInCancelFlow(userId)) {
+        if (movieFlowRouter.isInCancelFlow(session)) {
             String result = movieFlowRouter.handle(prompt, session, userId);
             AiResponseDTO response = new AiResponseDTO(result);
             if (session.getLastCinemas() != null && !session.getLastCinemas().isEmpty()) {
@@ -92,7 +257,7 @@ public class GeminiService {
         }
 
         // ✅ 2) 종료 의도
-        if (isCancelIntent(prompt)) {
+        if (signals.hasAny(Signal.EXIT, Signal.EXIT_FINISH)) {
             session.reset();
             return new AiResponseDTO("대화를 종료했습니다. 필요하시면 다시 말씀해주세요.");
         }
@@ -100,7 +265,7 @@ public class GeminiService {
         // ✅ 3) 명확한 구문 우선 처리
 
         // 영화 예약 확정 표현
-        if (lower.contains("영화 예약") || lower.contains("영화 예매")) {
+        if (signals.has(Signal.MOVIE_BOOKING)) {
             session.setFlowType(UserSession.FlowType.MOVIE);
             String result = movieFlowRouter.handle(prompt, session, userId);
             AiResponseDTO response = new AiResponseDTO(result);
@@ -111,9 +276,7 @@ public class GeminiService {
         }
 
         // 자전거 예약 확정 표현
-        if (lower.contains("자전거 예약") ||
-                lower.contains("따릉이 예약") ||
-                lower.contains("바이크 예약")) {
+        if (signals.has(Signal.BIKE_BOOKING)) {
             session.setFlowType(UserSession.FlowType.BIKE);
             String result = bikeFlowRouter.handle(prompt, session, userId);
             AiResponseDTO response = new AiResponseDTO(result);
@@ -124,14 +287,14 @@ public class GeminiService {
         }
 
         // ✅ 4) 단독 "예약" 입력 — 흐름 시작 금지
-        if (lower.equals("예약")) {
+        if (signals.has(Signal.RESERVE_ONLY)) {
             return new AiResponseDTO(
                     "어떤 예약을 도와드릴까요?\n\n" +
                             "🎬 영화 예매\n🚲 자전거 대여\n\n말씀해주세요!");
         }
 
         // ✅ 5) 일반 키워드 기반 진입 (충돌 없이)
-        if (containsAny(lower, List.of("자전거", "따릉이", "바이크", "전기자전거"))) {
+        if (signals.hasAny(Signal.BIKE, Signal.DDAREUNGI, Signal.BIKE_ALIAS)) {
             session.setFlowType(UserSession.FlowType.BIKE);
             String result = bikeFlowRouter.handle(prompt, session, userId);
             AiResponseDTO response = new AiResponseDTO(result);
@@ -141,8 +304,8 @@ public class GeminiService {
             return response;
         }
 
-        if (containsAny(lower, List.of("영화", "예매", "상영", "시간표"))
-                || prompt.matches("^\\d{10}$")) {
+        if (signals.hasAny(Signal.MOVIE, Signal.BOOK, Signal.SCREENING, Signal.TIMETABLE)
+                || signals.isReservationNumber()) {
             session.setFlowType(UserSession.FlowType.MOVIE);
             String result = movieFlowRouter.handle(prompt, session, userId);
             AiResponseDTO response = new AiResponseDTO(result);
@@ -152,40 +315,18 @@ public class GeminiService {
             return response;
         }
 
-        // ✅ 6) 자유 대화 모드
-        return callGeminiFreeChat(session.getHistory());
-    }
-
-    private LocalDate extractDateFromText(String text) {
-        if (text == null)
-            return LocalDate.now();
-
-        text = text.toLowerCase().trim();
-        LocalDate today = LocalDate.now();
-
-        if (text.contains("내일"))
-            return today.plusDays(1);
-        if (text.contains("모레"))
-            return today.plusDays(2);
-
-        Pattern p = Pattern.compile("(\\d{1,2})월\\s*(\\d{1,2})일");
-        Matcher m = p.matcher(text);
-
-        if (m.find()) {
-            int month = Integer.parseInt(m.group(1));
-            int day = Integer.parseInt(m.group(2));
-            return LocalDate.of(2025, month, day);
-        }
-
-        return today;
+        // 자유 대화 모드로 넘김
+        return null;
     }
 
     private AiResponseDTO callGeminiFreeChat(List<Map<String, Object>> history) {
-        Map<String, Object> req = Map.of("contents", history);
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
         try {
+            // 오래된 대화는 요약으로 접어서 요청 크기를 일정하게 유지
+            byte[] req = historyCompactor.buildRequestBody(history);
+
             ResponseEntity<Map> response = restTemplate.postForEntity(
                     baseUrl + "?key=" + apiKey,
                     new HttpEntity<>(req, headers),
@@ -209,29 +350,17 @@ public class GeminiService {
         }
     }
 
-    private boolean isCancelIntent(String text) {
-        if (text == null)
-            return false;
-        String trimmed = text.trim();
-        return trimmed.equals("그만") ||
-                trimmed.equals("취소") ||
-                trimmed.equals("끝") ||
-                trimmed.equals("종료") ||
-                trimmed.equals("나가기") ||
-                trimmed.equals("끝내기") ||
-                trimmed.equals("안할래");
-    }
-
-    private boolean containsAny(String text, List<String> keywords) {
-        if (text == null)
-            return false;
-        String lower = text.toLowerCase();
-        return keywords.stream().anyMatch(lower::contains);
-    }
-
     public void resetConversation(String userId) {
-        if (userId != null && userSessions.containsKey(userId)) {
-            userSessions.get(userId).reset();
+        if (userId == null) {
+            return;
         }
+        turnLocks.withLock(userId, () -> {
+            UserSession session = sessionStore.find(userId);
+            if (session != null) {
+                session.reset();
+            }
+            sessionStore.afterTurn(userId);
+            return null;
+        });
     }
 }
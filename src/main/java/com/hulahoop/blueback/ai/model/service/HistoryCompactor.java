@@ -0,0 +1,146 @@
+package com.hulahoop.blueback.ai.model.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gemini 자유 대화 요청용 대화 기록 압축
+ * - 최근 턴은 글자 수 예산(maxChars) 안에서 그대로 유지
+ * - 예산을 넘는 오래된 턴은 앞부분만 잘라 하나의 "이전 대화 요약" 턴으로 합침
+ * → 대화가 길어져도 요청 크기가 일정하게 유지됨
+ */
+@Component
+public class HistoryCompactor {
+
+    private static final String SUMMARY_HEADER = "[이전 대화 요약]\n";
+    private static final String SUMMARY_ACK = "네, 이전 대화 내용을 참고하겠습니다.";
+
+    private final ObjectMapper objectMapper;
+    private final int maxChars;
+    private final int summaryMaxChars;
+    private final int summaryLineChars;
+
+    private final DistributionSummary compactedBytes;
+    private final DistributionSummary foldedTurns;
+
+    public HistoryCompactor(ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${gemini.history.max-chars:6000}") int maxChars,
+            @Value("${gemini.history.summary-max-chars:1500}") int summaryMaxChars,
+            @Value("${gemini.history.summary-line-chars:80}") int summaryLineChars) {
+        this.objectMapper = objectMapper;
+        this.maxChars = maxChars;
+        this.summaryMaxChars = summaryMaxChars;
+        this.summaryLineChars = summaryLineChars;
+
+        this.compactedBytes = DistributionSummary.builder("gemini.request.bytes")
+                .description("Gemini 요청 본문 크기")
+                .baseUnit("bytes")
+                .tag("stage", "compacted")
+                .register(meterRegistry);
+        this.foldedTurns = DistributionSummary.builder("gemini.history.folded.turns")
+                .description("요약 턴으로 접힌 오래된 대화 턴 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 압축된 대화 기록으로 generateContent 요청 본문(JSON)을 만들고 크기 지표를 기록
+     * - 직렬화와 크기 측정은 실제로 보낼 본문 한 번만 수행 (원본 전체는 다시 훑지 않음)
+     * - 원본이 얼마나 줄었는지는 요약으로 접힌 턴 수로 기록
+     */
+    public byte[] buildRequestBody(List<Map<String, Object>> history) throws JsonProcessingException {
+        int firstKept = history == null ? 0 : firstKept(history);
+        List<Map<String, Object>> compacted = firstKept == 0 ? history : fold(history, firstKept);
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("contents", compacted == null ? List.of() : compacted));
+
+        compactedBytes.record(body.length);
+        foldedTurns.record(firstKept);
+        return body;
+    }
+
+    /**
+     * 최근 턴을 예산 안에서 유지하고, 나머지는 요약 턴으로 접음
+     */
+    public List<Map<String, Object>> compact(List<Map<String, Object>> history) {
+        if (history == null || history.isEmpty()) {
+            return history;
+        }
+        int firstKept = firstKept(history);
+        return firstKept == 0 ? history : fold(history, firstKept);
+    }
+
+    /**
+     * 최신 턴부터 거꾸로 예산 안에 들어가는 만큼 유지했을 때 첫 유지 턴 위치 (최신 턴은 항상 포함)
+     * - 유지되는 턴까지만 훑음
+     */
+    private int firstKept(List<Map<String, Object>> history) {
+        int used = 0;
+        int firstKept = history.size();
+        for (int i = history.size() - 1; i >= 0; i--) {
+            int len = textOf(history.get(i)).length();
+            if (firstKept < history.size() && used + len > maxChars) {
+                break;
+            }
+            used += len;
+            firstKept = i;
+        }
+        return firstKept;
+    }
+
+    private List<Map<String, Object>> fold(List<Map<String, Object>> history, int firstKept) {
+        // 오래된 턴은 한 줄씩 잘라서 요약 (예산 초과 시 가장 오래된 줄부터 버림)
+        StringBuilder summary = new StringBuilder();
+        for (int i = firstKept - 1; i >= 0; i--) {
+            Map<String, Object> turn = history.get(i);
+            String line = ("model".equals(turn.get("role")) ? "AI: " : "사용자: ")
+                    + abbreviate(textOf(turn), summaryLineChars) + "\n";
+            if (summary.length() + line.length() > summaryMaxChars) {
+                break;
+            }
+            summary.insert(0, line);
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(history.size() - firstKept + 2);
+        result.add(turn("user", SUMMARY_HEADER + summary));
+
+        // Gemini 는 user/model 이 번갈아 오는 형태를 기대하므로 필요하면 확인 응답을 끼워 넣음
+        if ("user".equals(history.get(firstKept).get("role"))) {
+            result.add(turn("model", SUMMARY_ACK));
+        }
+
+        result.addAll(history.subList(firstKept, history.size()));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String textOf(Map<String, Object> turn) {
+        Object parts = turn.get("parts");
+        if (!(parts instanceof List<?> list)) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Object part : list) {
+            if (part instanceof Map<?, ?> map && map.get("text") != null) {
+                sb.append(map.get("text"));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String abbreviate(String text, int max) {
+        String oneLine = text.replace('\n', ' ').trim();
+        return oneLine.length() > max ? oneLine.substring(0, max) + "…" : oneLine;
+    }
+
+    private static Map<String, Object> turn(String role, String text) {
+        return Map.of("role", role, "parts", List.of(Map.of("text", text)));
+    }
+}
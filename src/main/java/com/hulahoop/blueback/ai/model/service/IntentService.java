@@ -6,6 +6,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
@@ -16,50 +17,73 @@ import java.util.Map;
 public class IntentService {
 
     private static final Logger log = LoggerFactory.getLogger(IntentService.class);
+    private static final String GATEWAY_URI = "/api/gateway/dispatch";
+
+    // 게이트웨이 응답 타임아웃 (processIntentAsync)
+    public static final Duration GATEWAY_TIMEOUT = Duration.ofSeconds(5);
+    // 블로킹으로 기다리는 호출부의 상한 — 응답 타임아웃 + 여유
+    public static final Duration BLOCK_TIMEOUT = GATEWAY_TIMEOUT.plusSeconds(1);
     private final WebClient webClient;
 
 
     public IntentService(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder
+        // 공유 Builder 빈을 변경하지 않도록 복제해서 사용
+        this.webClient = webClientBuilder.clone()
                 .baseUrl("http://localhost:8080")
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
 
+    /**
+     * 게이트웨이 호출 (블로킹) — 아직 동기 방식이 필요한 호출부를 위한 래퍼
+     * - 채팅 핸들러(MovieBookingFlowHandler, MovieCancelHandler, BikeFlowHandler)만 사용
+     * - 채팅 턴은 GeminiService 에서 사용자별 턴 잠금 안에서 String 으로 끝나야 하고,
+     *   각 단계는 앞 응답을 세션에 저장한 뒤 다음 단계로 넘어가므로 순차 대기가 필요
+     * - 컨트롤러는 processIntentAsync 로 Mono 를 그대로 반환할 것
+     */
     public Map<String, Object> processIntent(String intent, Map<String, Object> data) {
-        final String gatewayUri = "/api/gateway/dispatch";
+        try {
+            Map<String, Object> result = processIntentAsync(intent, data).block(BLOCK_TIMEOUT);
+            return result != null ? result : Map.of("error", "Empty response from gateway");
+        } catch (Exception e) {
+            return Map.of("error", "Failed to call " + GATEWAY_URI + ": " + e.getMessage());
+        }
+    }
 
+    /**
+     * 게이트웨이 호출 (논블로킹)
+     * - 실패/타임아웃은 예외 대신 {"error": ...} 응답으로 변환
+     * - 게이트웨이가 HTTP 오류로 응답한 경우에는 {"error": ..., "status": 상태코드}
+     */
+    @SuppressWarnings("unchecked")
+    public Mono<Map<String, Object>> processIntentAsync(String intent, Map<String, Object> data) {
         if (intent == null || intent.isBlank()) {
-            return Map.of("error", "X-Intent 값이 비어 있음");
+            return Mono.just(Map.of("error", "X-Intent 값이 비어 있음"));
         }
 
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("intent", intent);
         requestBody.put("data", data != null ? data : Map.of());
 
-        try {
-            Map<String, Object> result = webClient.post()
-                    .uri(gatewayUri)
-                    .header("intent", intent)                          // ✅ 헤더 분기
-                    .bodyValue(requestBody)           // ✅ 래핑 금지! 루트로 전송
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .onErrorResume(ex -> Mono.just(Map.of(
-                            "error", "게이트웨이 호출 실패: " + ex.getMessage()
-                    )))
-                    .block();
-
-            // 🔎 게이트웨이 응답 로깅
-            log.info("Gateway Response for intent '{}': {}", intent, result);
-            log.info("📤 Sending to gateway: {}", requestBody);
-            log.info("🧪 intent: {}", intent);
-            log.info("🧪 data: {}", data);
-
-
-            return result != null ? result : Map.of("error", "Empty response from gateway");
-        } catch (Exception e) {
-            return Map.of("error", "Failed to call " + gatewayUri + ": " + e.getMessage());
-        }
+        return webClient.post()
+                .uri(GATEWAY_URI)
+                .header("intent", intent)                          // ✅ 헤더 분기
+                .bodyValue(requestBody)           // ✅ 래핑 금지! 루트로 전송
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(body -> (Map<String, Object>) body)
+                .timeout(GATEWAY_TIMEOUT)
+                .onErrorResume(ex -> Mono.just(ex instanceof WebClientResponseException wex
+                        ? Map.of("error", "게이트웨이 호출 실패: " + ex.getMessage(),
+                                "status", wex.getStatusCode().value())
+                        : Map.of("error", "게이트웨이 호출 실패: " + ex.getMessage())))
+                .defaultIfEmpty(Map.of("error", "Empty response from gateway"))
+                .doOnNext(result -> {
+                    // 🔎 게이트웨이 응답 로깅
+                    log.info("Gateway Response for intent '{}': {}", intent, result);
+                    log.info("📤 Sending to gateway: {}", requestBody);
+                    log.info("🧪 intent: {}", intent);
+                    log.info("🧪 data: {}", data);
+                });
     }
 }
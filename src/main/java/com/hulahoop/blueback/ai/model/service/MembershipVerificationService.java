@@ -1,34 +1,126 @@
 package com.hulahoop.blueback.ai.model.service;
 
-import com.hulahoop.blueback.member.model.dao.UserMapper;
+import com.hulahoop.blueback.member.model.service.MemberLookupService;
 import com.hulahoop.blueback.member.model.dto.MemberDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 제휴 서비스(영화관/자전거) 회원 여부 확인
+ * - 결과는 (제휴사, 전화번호) 단위로 캐시: 가입 회원은 긴 TTL, 미가입은 짧은 TTL
+ *   (미가입 → 가입 전환이 늦게 반영되지 않도록), 게이트웨이 오류는 저장하지 않음
+ * - 캐시 값은 CompletableFuture → 같은 번호에 대한 동시 확인은 게이트웨이 호출 한 번으로 합쳐짐
+ * - 로그인/첫 채팅 턴에 prefetch 로 두 제휴사를 동시에 미리 확인 → 예매 시작 시에는 대부분 캐시 적중
+ * - 확인 중 항목도 만료 시각(시작 + pending-timeout)을 가짐 → 멈춘 호출이 같은 번호의 확인을 계속 막지 않음
+ * - 최대 개수를 넘으면 한 스레드만 정리: 만료 항목 제거 → 그래도 많으면 EVICT_TO 비율까지 임의 제거
+ */
 @Service
 public class MembershipVerificationService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final UserMapper userMapper;
+    private enum Partner {
+        CINEMA("movie_member_check", "영화관"),
+        BIKE("bike_member_check", "자전거");
+
+        final String headerIntent;
+        final String serviceName;
+
+        Partner(String headerIntent, String serviceName) {
+            this.headerIntent = headerIntent;
+            this.serviceName = serviceName;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(MembershipVerificationService.class);
+
+    private static final double EVICT_TO = 0.9;
+
+    /** 확인 중이면 expiresAt 은 확인 대기 기한 */
+    private record Entry(CompletableFuture<Boolean> result, long expiresAt) {
+    }
+
+    private final RestTemplate restTemplate;
+    private final MemberLookupService memberLookupService;
 
     // 게이트웨이 포트 8080
     @Value("${gateway.url:http://localhost:8080}")
     private String gatewayUrl;
 
-    public MembershipVerificationService(UserMapper userMapper) {
-        this.userMapper = userMapper;
+    private final long memberTtlMillis;
+    private final long nonMemberTtlMillis;
+    private final long pendingTimeoutMillis;
+    private final int maxSize;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final ExecutorService checkExecutor;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public MembershipVerificationService(MemberLookupService memberLookupService,
+            MeterRegistry meterRegistry,
+            @Value("${membership.cache.ttl:6h}") Duration memberTtl,
+            @Value("${membership.cache.negative-ttl:5m}") Duration nonMemberTtl,
+            @Value("${membership.check-threads:4}") int checkThreads,
+            @Value("${membership.cache.max-size:10000}") int maxSize,
+            @Value("${membership.check-timeout:3s}") Duration checkTimeout) {
+        this.memberLookupService = memberLookupService;
+        this.memberTtlMillis = memberTtl.toMillis();
+        this.nonMemberTtlMillis = nonMemberTtl.toMillis();
+        this.maxSize = maxSize;
+        // 게이트웨이 응답 대기 + 스레드 풀 대기 여유 1초
+        this.pendingTimeoutMillis = checkTimeout.toMillis() + 1000;
+
+        // JDK HttpClient 기반: 응답 타임아웃이 지나면 진행 중인 요청 자체를 취소
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(checkTimeout)
+                .build());
+        requestFactory.setReadTimeout(checkTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.checkExecutor = Executors.newFixedThreadPool(checkThreads, r -> {
+            Thread t = new Thread(r, "membership-check-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.hits = Counter.builder("membership.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("membership.cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkExecutor.shutdownNow();
     }
 
     /**
      * Blue 사용자의 전화번호 조회
      */
     public String getUserPhoneNumber(String userId) {
-        MemberDTO member = userMapper.findById(userId);
+        MemberDTO member = memberLookupService.findById(userId);
         if (member == null) {
             return null;
         }
@@ -41,7 +133,7 @@ public class MembershipVerificationService {
      */
     public boolean isCinemaMember(String phoneNumber) {
         // Header에 'movie'가 포함된 intent를 보내야 Gateway가 영화 서비스로 라우팅함
-        return checkMember(phoneNumber, "movie_member_check", "영화관");
+        return isMember(phoneNumber, Partner.CINEMA);
     }
 
     /**
@@ -50,17 +142,116 @@ public class MembershipVerificationService {
      */
     public boolean isBikeMember(String phoneNumber) {
         // Header에 'bike'가 포함된 intent를 보내야 Gateway가 자전거 서비스로 라우팅함
-        return checkMember(phoneNumber, "bike_member_check", "자전거");
+        return isMember(phoneNumber, Partner.BIKE);
     }
 
     /**
-     * 공통 회원 확인 로직
-     * @param headerIntent Gateway 라우팅을 위한 HTTP Header 값
+     * 두 제휴사 회원 여부를 동시에 미리 확인 (기다리지 않음)
+     */
+    public void prefetch(String phoneNumber) {
+        if (phoneNumber == null || phoneNumber.isBlank()) {
+            return;
+        }
+        for (Partner partner : Partner.values()) {
+            lookup(phoneNumber, partner);
+        }
+    }
+
+    /**
+     * 사용자 아이디로 전화번호를 찾아 prefetch (첫 채팅 턴용)
      */
-    private boolean checkMember(String phoneNumber, String headerIntent, String serviceName) {
+    public void prefetchForUser(String userId) {
+        prefetch(getUserPhoneNumber(userId));
+    }
+
+    private boolean isMember(String phoneNumber, Partner partner) {
         if (phoneNumber == null || phoneNumber.isBlank()) {
             return false;
         }
+        try {
+            return lookup(phoneNumber, partner).get(pendingTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("⏱️ {} 회원 확인 대기 시간 초과 ({}ms) → 비회원으로 처리", partner.serviceName, pendingTimeoutMillis);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    private CompletableFuture<Boolean> lookup(String phoneNumber, Partner partner) {
+        String key = partner.name() + "|" + phoneNumber;
+        long now = System.currentTimeMillis();
+
+        Entry entry = cache.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.increment();
+            return entry.result();
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        Entry pending = new Entry(result, now + pendingTimeoutMillis);
+        Entry existing = entry == null ? cache.putIfAbsent(key, pending)
+                : (cache.replace(key, entry, pending) ? null : cache.get(key));
+        if (existing != null) {
+            // 다른 스레드가 먼저 확인을 시작함
+            hits.increment();
+            return existing.result();
+        }
+
+        misses.increment();
+        if (cache.size() > maxSize) {
+            sweep(now);
+        }
+        CompletableFuture.supplyAsync(() -> checkMember(phoneNumber, partner), checkExecutor)
+                .whenComplete((exists, error) -> {
+                    if (error != null || exists == null) {
+                        cache.remove(key, pending); // 게이트웨이 오류는 다음 요청에서 다시 확인
+                        result.complete(false);
+                        return;
+                    }
+                    long ttl = exists ? memberTtlMillis : nonMemberTtlMillis;
+                    cache.replace(key, pending, new Entry(result, System.currentTimeMillis() + ttl));
+                    result.complete(exists);
+                });
+        return result;
+    }
+
+    /**
+     * 최대 개수 초과 시 정리 (이미 다른 스레드가 정리 중이면 건너뜀)
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = (int) (maxSize * EVICT_TO);
+
+            // 1) 만료된 결과와 기한이 지난 확인 중 항목부터
+            cache.values().removeIf(e -> e.expiresAt() <= now);
+
+            // 2) 그래도 많으면 순회 순서대로 제거 (해시 순서라 사실상 임의 선택)
+            Iterator<Map.Entry<String, Entry>> it = cache.entrySet().iterator();
+            while (cache.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    /**
+     * 공통 회원 확인 로직
+     * @return 회원 여부, 게이트웨이 호출 실패 시 null
+     */
+    private Boolean checkMember(String phoneNumber, Partner partner) {
 
         try {
             // Gateway 설정에 따라 /api/gateway/** 경로로 요청
@@ -77,7 +268,7 @@ public class MembershipVerificationService {
             // Headers: Gateway 라우팅용 헤더 설정
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.add("intent", headerIntent); // Gateway 라우팅 핵심
+            headers.add("intent", partner.headerIntent); // Gateway 라우팅 핵심
 
             @SuppressWarnings("rawtypes")
             ResponseEntity<Map> response = restTemplate.postForEntity(
@@ -90,9 +281,9 @@ public class MembershipVerificationService {
                 return Boolean.TRUE.equals(response.getBody().get("exists"));
             }
         } catch (Exception e) {
-            System.err.println(serviceName + " 회원 조회 실패: " + e.getMessage());
+            log.warn("❌ {} 회원 조회 실패: {}", partner.serviceName, e.toString());
         }
         
-        return false;
+        return null;
     }
 }
@@ -1,34 +1,39 @@
 package com.hulahoop.blueback.ai.model.service.bike;
 
 import com.hulahoop.blueback.ai.model.service.IntentService;
+import com.hulahoop.blueback.ai.model.service.prompt.PromptAnalysis;
+import com.hulahoop.blueback.ai.model.service.prompt.Signal;
 import com.hulahoop.blueback.ai.model.service.session.UserSession;
 import com.hulahoop.blueback.email.model.service.EmailService;
 import com.hulahoop.blueback.kakao.model.service.KakaoLocalService;
-import com.hulahoop.blueback.member.model.dao.UserMapper;
+import com.hulahoop.blueback.member.model.service.MemberLookupService;
 import com.hulahoop.blueback.member.model.dto.MemberDTO;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.LocalTime;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class BikeFlowHandler {
 
     private final IntentService intentService;
     private final KakaoLocalService kakaoLocalService;
-    private final UserMapper userMapper;
+    private final MemberLookupService memberLookupService;
     private final EmailService emailService;
 
+    // 채팅에 보여줄 가까운 자전거 수
+    private static final int NEAREST_BIKE_LIMIT = 10;
+
     public BikeFlowHandler(IntentService intentService,
             KakaoLocalService kakaoLocalService,
-            UserMapper userMapper,
+            MemberLookupService memberLookupService,
             EmailService emailService) {
         this.intentService = intentService;
         this.kakaoLocalService = kakaoLocalService;
-        this.userMapper = userMapper;
+        this.memberLookupService = memberLookupService;
         this.emailService = emailService;
     }
 
@@ -39,25 +44,25 @@ public class BikeFlowHandler {
 
     public String handle(String userInput, UserSession session, String userId) {
 
+        PromptAnalysis analysis = session.analysisFor(userInput);
+
         // STEP 1: 자전거 목록 (거리 계산 추가)
         if (session.getStep() == UserSession.Step.IDLE) {
+            // 자전거 목록 조회 (응답을 기다리는 동안 회원 조회/좌표 검색을 함께 진행)
+            CompletableFuture<List<Map<String, Object>>> bikesFuture = intentService
+                    .processIntentAsync("bike_list", Map.of())
+                    .map(res -> safeList(res.get("bicycles")))
+                    .toFuture();
+
             // 사용자 정보 조회
-            MemberDTO member = userMapper.findById(userId);
+            MemberDTO member = memberLookupService.findById(userId);
             if (member == null) {
                 return "회원 정보를 찾을 수 없습니다.";
             }
             String userAddress = member.getAddress();
 
-            // 자전거 목록 조회
-            Map<String, Object> res = intentService.processIntent("bike_list", Map.of());
-            List<Map<String, Object>> bikes = safeList(res.get("bicycles"));
-
-            if (bikes.isEmpty()) {
-                return "현재 대여 가능한 자전거가 없습니다.";
-            }
-
             // 장소 키워드 추출
-            String keyword = kakaoLocalService.extractPlaceKeyword(userInput);
+            String keyword = analysis.placeKeyword();
             Map<String, Object> coord;
 
             if (keyword != null) {
@@ -72,8 +77,16 @@ public class BikeFlowHandler {
                 coord = kakaoLocalService.searchCoordinate(userAddress);
             }
 
-            // 거리 계산 및 정렬 (kakaoLocalService.sortCinemasByDistance와 동일한 방식)
-            List<Map<String, Object>> sorted = kakaoLocalService.sortBikesByDistance(coord, bikes);
+            // 게이트웨이 응답이 상한 시간 안에 오지 않으면 빈 목록으로 처리
+            List<Map<String, Object>> bikes = bikesFuture
+                    .completeOnTimeout(List.of(), IntentService.BLOCK_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                    .join();
+            if (bikes.isEmpty()) {
+                return "현재 대여 가능한 자전거가 없습니다.";
+            }
+
+            // 가까운 자전거 N대만 조회 (전체 정렬 없음)
+            List<Map<String, Object>> sorted = kakaoLocalService.nearestBikes(coord, bikes, NEAREST_BIKE_LIMIT);
 
             session.setLastBikes(sorted);
             session.setStep(UserSession.Step.BIKE_SELECT);
@@ -101,7 +114,7 @@ public class BikeFlowHandler {
         // STEP 2: 자전거 선택 (요금 조회 및 유효성 검사 로직 추가)
         if (session.getStep() == UserSession.Step.BIKE_SELECT) {
 
-            Integer idx = extractNumber(userInput, session.getLastBikes().size());
+            Integer idx = analysis.index(session.getLastBikes().size());
             if (idx == null) {
                 return "자전거 번호를 다시 입력해주세요. 예) 1번";
             }
@@ -145,14 +158,13 @@ public class BikeFlowHandler {
 
         // STEP 3: 시간 입력 처리 -> 결제 확인 JSON 출력 (수정 없음)
         if (session.getStep() == UserSession.Step.BIKE_TIME_INPUT) {
-            // ... (기존 로직 유지)
-            String[] parts = userInput.split("~");
-            if (parts.length != 2) {
+            PromptAnalysis.TimeRange timeRange = analysis.timeRange();
+            if (timeRange == null) {
                 return "시간 형식이 올바르지 않습니다. 예) 18:30 ~ 19:00";
             }
 
-            String start = parts[0].trim().replaceAll("[^0-9:]", "");
-            String end = parts[1].trim().replaceAll("[^0-9:]", "");
+            String start = timeRange.start().toString();
+            String end = timeRange.end().toString();
 
             session.getBookingContext().put("startTime", start);
             session.getBookingContext().put("endTime", end);
@@ -161,7 +173,7 @@ public class BikeFlowHandler {
                     ? (int) session.getBookingContext().get("ratePerHour")
                     : 0;
 
-            long minutes = calculateMinutes(start, end);
+            long minutes = timeRange.minutes();
 
             // 💡 금액 계산: (시간당 요금 * 분) / 60.0 (실수 나누기 후 반올림하여 0원 오류 방지)
             double totalAmountDouble = ((double) ratePerHour * minutes) / 60.0;
@@ -191,7 +203,7 @@ public class BikeFlowHandler {
         // 결제 모듈에서 받은 응답(예: "결제 완료")을 userInput으로 받아서 처리한다고 가정합니다.
         if (session.getStep() == UserSession.Step.BIKE_PAYMENT_CONFIRM) {
             // 사용자 입력이 '결제 완료'를 의미한다고 가정 (실제로는 AI가 상태를 파악)
-            if (userInput.toLowerCase().contains("결제") || userInput.toLowerCase().contains("confirm")) {
+            if (session.signalsFor(userInput).has(Signal.PAYMENT)) {
 
                 // 2. bike_booking_step3 인텐트 호출 (최종 예약)
                 Map<String, Object> bookingReq = new HashMap<>();
@@ -209,7 +221,7 @@ public class BikeFlowHandler {
 
                     // 📧 이메일 알림 발송 (알림 동의한 사용자만)
                     try {
-                        MemberDTO member = userMapper.findById(userId);
+                        MemberDTO member = memberLookupService.findById(userId);
                         if (member != null && "Y".equals(member.getNotificationStatus())) {
                             // 자전거 정보 (세션에 저장된 실제 키 사용)
                             String bicycleCode = String.valueOf(session.getBookingContext().get("bicycleCode"));
@@ -265,48 +277,11 @@ public class BikeFlowHandler {
         return "처리할 수 없는 단계입니다. 다시 시도해주세요.";
     }
 
-    private Integer extractNumber(String input, int maxSize) {
-        String digits = input.replaceAll("[^0-9]", "");
-        if (digits.isEmpty())
-            return null;
-        int v = Integer.parseInt(digits);
-        return (v >= 1 && v <= maxSize) ? v : null;
-    }
-
-    /**
-     * 시간 차이를 분 단위로 계산
-     */
-    private long calculateMinutes(String startTime, String endTime) {
-        try {
-            // HH:mm 포맷 확인
-            if (startTime.length() != 5 || endTime.length() != 5) {
-                throw new IllegalArgumentException("Invalid time format");
-            }
-
-            // LocalTime 파싱 (예: "18:30")
-            LocalTime start = LocalTime.parse(startTime, DateTimeFormatter.ofPattern("HH:mm"));
-            LocalTime end = LocalTime.parse(endTime, DateTimeFormatter.ofPattern("HH:mm"));
-
-            Duration duration = Duration.between(start, end);
-            long minutes = duration.toMinutes();
-
-            // 종료 시간이 시작 시간보다 빠른 경우 (자정을 넘은 경우) 24시간을 더함
-            if (minutes < 0) {
-                minutes += 24 * 60;
-            }
-
-            return minutes;
-        } catch (Exception e) {
-            // 오류 발생 시 기본값 (예: 30분) 반환
-            return 30;
-        }
-    }
-
     /**
      * 사용자 전화번호 가져오기
      */
     private String getUserPhone(String userId) {
-        MemberDTO member = userMapper.findById(userId);
+        MemberDTO member = memberLookupService.findById(userId);
         if (member != null) {
             return member.getPhoneNum();
         }
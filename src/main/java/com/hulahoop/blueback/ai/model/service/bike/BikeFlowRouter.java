@@ -1,6 +1,8 @@
 package com.hulahoop.blueback.ai.model.service.bike;
 
 import com.hulahoop.blueback.ai.model.service.MembershipVerificationService;
+import com.hulahoop.blueback.ai.model.service.prompt.PromptSignals;
+import com.hulahoop.blueback.ai.model.service.prompt.Signal;
 import com.hulahoop.blueback.ai.model.service.session.UserSession;
 import org.springframework.stereotype.Component;
 
@@ -22,10 +24,10 @@ public class BikeFlowRouter {
             return "다시 입력해주세요.";
         }
 
-        String lower = userInput.toLowerCase().trim();
+        PromptSignals signals = session.signalsFor(userInput);
 
         // 취소 의도 처리 (예매 흐름과 동일)
-        if (isCancelCommand(lower)) {
+        if (signals.has(Signal.EXIT)) {
             session.reset();
             return "자전거 예약을 종료했습니다. 필요하시면 다시 말씀해주세요.";
         }
@@ -36,7 +38,7 @@ public class BikeFlowRouter {
         }
 
         // 최초 진입 조건
-        if (containsBikeKeyword(lower)) {
+        if (signals.hasAny(Signal.BIKE, Signal.RENTAL, Signal.RESERVE, Signal.DDAREUNGI)) {
             // 🔹 자전거 회원 검증
             String phoneNumber = membershipVerificationService.getUserPhoneNumber(userId);
             if (phoneNumber == null) {
@@ -54,20 +56,4 @@ public class BikeFlowRouter {
         // 자전거 관련이 아닌 경우
         return "처리할 수 없는 요청입니다. 자전거 예약을 원하시면 말씀해주세요.";
     }
-
-    private boolean containsBikeKeyword(String text) {
-        return text.contains("자전거")
-                || text.contains("대여")
-                || text.contains("예약")
-                || text.contains("따릉이");
-    }
-
-    private boolean isCancelCommand(String text) {
-        return text.equals("취소") ||
-                text.equals("종료") ||
-                text.equals("그만") ||
-                text.equals("안할래") ||
-                text.equals("끝") ||
-                text.equals("나가기");
-    }
 }
@@ -1,33 +1,52 @@
 package com.hulahoop.blueback.ai.model.service.movie;
 
 import com.hulahoop.blueback.ai.model.service.IntentService;
+import com.hulahoop.blueback.ai.model.service.prompt.PromptAnalysis;
+import com.hulahoop.blueback.ai.model.service.prompt.PromptAnalyzer;
+import com.hulahoop.blueback.ai.model.service.prompt.PromptSignals;
+import com.hulahoop.blueback.ai.model.service.prompt.Signal;
 import com.hulahoop.blueback.ai.model.service.session.UserSession;
 import com.hulahoop.blueback.email.model.service.EmailService;
 import com.hulahoop.blueback.kakao.model.service.KakaoLocalService;
-import com.hulahoop.blueback.member.model.dao.UserMapper;
+import com.hulahoop.blueback.member.model.service.MemberLookupService;
 import com.hulahoop.blueback.member.model.dto.MemberDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class MovieBookingFlowHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(MovieBookingFlowHandler.class);
+
     private final IntentService intentService;
     private final MovieFormatter formatter;
-    private final UserMapper userMapper;
+    private final MemberLookupService memberLookupService;
     private final KakaoLocalService kakaoLocalService;
     private final EmailService emailService;
 
+    // 채팅에 보여줄 가까운 영화관 수
+    private static final int NEAREST_CINEMA_LIMIT = 10;
+
+    // 게이트웨이가 좌석 일괄 HOLD 미지원을 명시하면 이 시각까지는 병렬 호출만 사용
+    private static final long BATCH_HOLD_RETRY_MILLIS = 10 * 60 * 1000L;
+    private volatile long batchHoldRetryAt = 0;
+
     public MovieBookingFlowHandler(
             IntentService intentService,
             MovieFormatter formatter,
-            UserMapper userMapper,
+            MemberLookupService memberLookupService,
             KakaoLocalService kakaoLocalService,
             EmailService emailService) {
         this.intentService = intentService;
         this.formatter = formatter;
-        this.userMapper = userMapper;
+        this.memberLookupService = memberLookupService;
         this.kakaoLocalService = kakaoLocalService;
         this.emailService = emailService;
     }
@@ -37,23 +56,6 @@ public class MovieBookingFlowHandler {
         return (obj instanceof List) ? (List<Map<String, Object>>) obj : new ArrayList<>();
     }
 
-    private boolean containsAny(String text, List<String> words) {
-        if (text == null)
-            return false;
-        String lower = text.toLowerCase();
-        return words.stream().anyMatch(lower::contains);
-    }
-
-    private Integer resolveIndexFromInput(String input, int maxSize) {
-        if (input == null)
-            return null;
-        String digits = input.replaceAll("[^0-9]", "");
-        if (digits.isEmpty())
-            return null;
-        int v = Integer.parseInt(digits);
-        return (v >= 1 && v <= maxSize) ? v : null;
-    }
-
     private Map<String, Object> findSeatByLabel(List<Map<String, Object>> seats, String label) {
         if (label.length() < 2)
             return null;
@@ -69,20 +71,18 @@ public class MovieBookingFlowHandler {
         return null;
     }
 
-    private String checkGlobalCommands(String userInput, UserSession s) {
-        String lower = userInput.toLowerCase();
-
-        if (containsAny(lower, List.of("그만", "종료", "취소", "나가기", "닫기", "안할래"))) {
+    private String checkGlobalCommands(PromptSignals signals, UserSession s) {
+        if (signals.has(Signal.STOP)) {
             s.reset();
             return "네, 알겠습니다. 필요하실 때 언제든 불러주세요 😊";
         }
 
-        if (containsAny(lower, List.of("조회", "예매함", "예약함", "내역"))) {
+        if (signals.has(Signal.HISTORY)) {
             s.reset();
             return "📄 예매 내역 조회 기능으로 이동합니다. 무엇을 조회할까요?";
         }
 
-        if (containsAny(lower, List.of("자전거", "바이크"))) {
+        if (signals.hasAny(Signal.BIKE, Signal.BIKE_ALIAS)) {
             s.reset();
             return "🚲 자전거 예약 기능으로 이동합니다. 무엇을 도와드릴까요?";
         }
@@ -90,21 +90,95 @@ public class MovieBookingFlowHandler {
         return null;
     }
 
-    private String extractDateFilter(String userInput) {
-        String lower = userInput.toLowerCase();
+    /**
+     * 여러 좌석 HOLD 요청
+     * - movie_booking_step4_batch 로 모든 좌석을 한 번에 요청하고 좌석별 결과를 받음
+     *   요청: { scheduleNum, seatCodes: [..], phoneNumber, bookingGroupId }
+     *   응답: { results: [ { seatCode, message | error }, .. ] }
+     * - 게이트웨이가 배치 미지원을 명시한 경우(HTTP 404/501 또는 "unsupported": true)에만
+     *   movie_booking_step4 를 좌석별로 병렬 호출
+     * - 그 밖의 오류/타임아웃은 배치가 이미 일부 좌석을 잡았을 수 있으므로 재시도하지 않고
+     *   모든 좌석을 같은 오류로 실패 처리
+     *
+     * @return seatCode → 좌석별 응답 (기존 movie_booking_step4 응답과 같은 형태)
+     */
+    private Map<Integer, Map<String, Object>> holdSeats(String scheduleNum, String phoneNumber,
+            String bookingGroupId, List<Integer> seatCodes) {
+
+        if (seatCodes.size() > 1 && System.currentTimeMillis() >= batchHoldRetryAt) {
+            Map<String, Object> batchRes = intentService.processIntent(
+                    "movie_booking_step4_batch",
+                    Map.of(
+                            "scheduleNum", scheduleNum,
+                            "seatCodes", seatCodes,
+                            "phoneNumber", phoneNumber,
+                            "bookingGroupId", bookingGroupId));
+
+            Object results = batchRes.get("results");
+            if (results instanceof List<?> list) {
+                Map<Integer, Map<String, Object>> bySeat = new HashMap<>();
+                for (Map<String, Object> r : safeList(list)) {
+                    Integer code = parseSeatCode(r.get("seatCode"));
+                    if (code != null) {
+                        bySeat.put(code, r);
+                    } else {
+                        log.warn("⚠️ 좌석 일괄 HOLD 응답에 잘못된 seatCode: {}", r);
+                    }
+                }
+                return bySeat;
+            }
 
-        if (lower.contains("오늘"))
-            return "today";
-        if (lower.contains("내일"))
-            return "tomorrow";
+            if (!isBatchHoldUnsupported(batchRes)) {
+                log.warn("⚠️ 좌석 일괄 HOLD 실패 (병렬 재시도 안 함): {}", batchRes);
+                Object error = batchRes.getOrDefault("error", "좌석 일괄 HOLD 응답 형식 오류");
+                Map<Integer, Map<String, Object>> failed = new HashMap<>();
+                for (Integer code : seatCodes) {
+                    failed.put(code, Map.of("error", error));
+                }
+                return failed;
+            }
 
-        if (lower.matches(".*\\d{1,2}월\\s*\\d{1,2}일.*")) {
-            String month = lower.replaceAll(".*?(\\d{1,2})월.*", "$1");
-            String day = lower.replaceAll(".*?(\\d{1,2})일.*", "$1");
-            return "2025-" + month + "-" + day;
+            // 배치 미지원 → 일정 시간 동안은 바로 병렬 호출로 처리
+            log.warn("⚠️ 좌석 일괄 HOLD 미지원 응답 → 병렬 호출로 전환: {}", batchRes);
+            batchHoldRetryAt = System.currentTimeMillis() + BATCH_HOLD_RETRY_MILLIS;
         }
 
-        return null;
+        // 도착한 응답은 바로 모아 둠 → 상한 시간을 넘겨도 이미 HOLD 된 좌석은 결과에 남아 확정(finalize) 대상이 됨
+        Map<Integer, Map<String, Object>> bySeat = new ConcurrentHashMap<>();
+        try {
+            Flux.fromIterable(seatCodes)
+                    .flatMap(code -> intentService.processIntentAsync(
+                            "movie_booking_step4",
+                            Map.of(
+                                    "scheduleNum", scheduleNum,
+                                    "seatCode", code,
+                                    "phoneNumber", phoneNumber,
+                                    "bookingGroupId", bookingGroupId)) // ✅ 그룹ID 전달
+                            .doOnNext(res -> bySeat.put(code, res)))
+                    .then()
+                    .block(IntentService.BLOCK_TIMEOUT);
+        } catch (IllegalStateException e) {
+            // 상한 시간 초과 → 응답을 받지 못한 좌석만 호출부에서 "응답 없음" 실패로 처리
+            log.warn("⚠️ 좌석 HOLD 응답 대기 시간 초과 ({}/{}석 응답)", bySeat.size(), seatCodes.size());
+        }
+        return new HashMap<>(bySeat);
+    }
+
+    private static boolean isBatchHoldUnsupported(Map<String, Object> res) {
+        Object status = res.get("status");
+        return Boolean.TRUE.equals(res.get("unsupported"))
+                || (status instanceof Number n && (n.intValue() == 404 || n.intValue() == 501));
+    }
+
+    private static Integer parseSeatCode(Object code) {
+        if (code instanceof Number n) {
+            return n.intValue();
+        }
+        try {
+            return code != null ? Integer.parseInt(String.valueOf(code).trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     public String handle(String userInput, UserSession s, String userId) {
@@ -112,9 +186,10 @@ public class MovieBookingFlowHandler {
         if (userInput == null)
             return "입력을 다시 말씀해주세요.";
 
-        String normalized = userInput.trim().toLowerCase();
+        PromptSignals signals = s.signalsFor(userInput);
+        PromptAnalysis analysis = s.analysisFor(userInput);
 
-        String global = checkGlobalCommands(normalized, s);
+        String global = checkGlobalCommands(signals, s);
         if (global != null)
             return global;
 
@@ -124,26 +199,29 @@ public class MovieBookingFlowHandler {
         if (s.getStep() == UserSession.Step.IDLE) {
 
             // 날짜 필터 저장
-            String dateFilter = extractDateFilter(userInput);
+            String dateFilter = analysis.dateFilter();
             if (dateFilter != null) {
                 s.getBookingContext().put("dateFilter", dateFilter);
             } else {
                 s.getBookingContext().putIfAbsent("dateFilter", "today");
             }
 
+            // 1) 영화관 목록은 Gateway에서 기본 제공 받음
+            // → 응답을 기다리는 동안 회원 조회/좌표 검색을 함께 진행
+            CompletableFuture<List<Map<String, Object>>> cinemasFuture = intentService
+                    .processIntentAsync("movie_booking_step1", Map.of())
+                    .map(res -> safeList(res.get("cinemas")))
+                    .toFuture();
+
             // 사용자 정보 조회
-            MemberDTO member = userMapper.findById(userId);
+            MemberDTO member = memberLookupService.findById(userId);
             if (member == null)
                 return "회원 정보를 찾을 수 없습니다.";
             String userAddress = member.getAddress();
 
-            // 1) 일단 영화관 목록은 Gateway에서 기본 제공 받음
-            Map<String, Object> res = intentService.processIntent("movie_booking_step1", Map.of());
-            List<Map<String, Object>> cinemas = safeList(res.get("cinemas"));
-
             // 2) 사용자 입력에서 장소 키워드 추출
             // ex) "잠실역", "홍대", "건대입구"
-            String keyword = kakaoLocalService.extractPlaceKeyword(userInput);
+            String keyword = analysis.placeKeyword();
 
             Map<String, Object> coord;
 
@@ -161,10 +239,16 @@ public class MovieBookingFlowHandler {
                 coord = kakaoLocalService.searchCoordinate(userAddress);
             }
 
-            // 3) 거리 기준 정렬
-            List<Map<String, Object>> sorted = kakaoLocalService.sortCinemasByDistance(
+            // 게이트웨이 응답이 상한 시간 안에 오지 않으면 빈 목록으로 처리
+            List<Map<String, Object>> cinemas = cinemasFuture
+                    .completeOnTimeout(List.of(), IntentService.BLOCK_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                    .join();
+
+            // 3) 가까운 영화관 N개만 조회 (전체 정렬 없음)
+            List<Map<String, Object>> sorted = kakaoLocalService.nearestCinemas(
                     coord,
-                    cinemas);
+                    cinemas,
+                    NEAREST_CINEMA_LIMIT);
 
             // 세션 저장
             s.setLastCinemas(sorted);
@@ -179,11 +263,11 @@ public class MovieBookingFlowHandler {
         // ------------------------------------------------
         if (s.getStep() == UserSession.Step.BRANCH_SELECT) {
 
-            String dateFilter = extractDateFilter(userInput);
+            String dateFilter = analysis.dateFilter();
             if (dateFilter != null)
                 s.getBookingContext().put("dateFilter", dateFilter);
 
-            Integer idx = resolveIndexFromInput(userInput, s.getLastCinemas().size());
+            Integer idx = analysis.index(s.getLastCinemas().size());
             if (idx == null) {
                 return "지점 번호를 다시 입력해주세요.\n\n"
                         + "또는 다른 기능을 원하시면 말해주세요.\n예시: \"예매 조회\", \"자전거 예약\"";
@@ -218,7 +302,7 @@ public class MovieBookingFlowHandler {
         // ------------------------------------------------
         if (s.getStep() == UserSession.Step.MOVIE_SELECT) {
 
-            Integer idx = resolveIndexFromInput(userInput, s.getLastMovies().size());
+            Integer idx = analysis.index(s.getLastMovies().size());
             if (idx == null) {
                 return "스케줄 번호를 다시 입력해주세요.\n또는 \"예매 조회\", \"자전거\" 같은 다른 기능을 말해주세요.";
             }
@@ -250,23 +334,24 @@ public class MovieBookingFlowHandler {
         // ------------------------------------------------
         if (s.getStep() == UserSession.Step.SEAT_SELECT) {
 
-            // 쉼표(,) 또는 공백(\s)으로 구분하여 다중 입력 처리
-            String[] inputs = userInput.split("[,\\s]+");
+            // 입력에서 좌석 라벨(A3, B12 …)만 골라 다중 입력 처리 (쉼표/공백 구분 모두 가능)
+            // 좌석으로 읽히지 않은 영문/숫자 토큰(AA4 등)은 건너뛰지 않고 안내
+            List<String> unmatched = PromptAnalyzer.unmatchedSeatTokens(userInput);
+            if (!unmatched.isEmpty())
+                return "좌석 '" + unmatched.get(0) + "'을(를) 찾을 수 없습니다. 다시 입력해주세요.";
+            List<String> inputs = analysis.seatLabels();
             List<Integer> seatCodes = new ArrayList<>();
             List<String> seatLabels = new ArrayList<>();
+            List<Integer> seatPrices = new ArrayList<>();
             int totalAmount = 0;
             String phoneNumber = null;
 
-            MemberDTO member = userMapper.findById(userId);
+            MemberDTO member = memberLookupService.findById(userId);
             if (member == null)
                 return "회원 정보를 찾을 수 없습니다.";
             phoneNumber = member.getPhoneNum();
 
-            for (String rawInput : inputs) {
-                String seatInput = rawInput.trim().toUpperCase();
-                if (seatInput.isEmpty())
-                    continue;
-
+            for (String seatInput : inputs) {
                 Map<String, Object> seat = findSeatByLabel(s.getLastSeats(), seatInput);
                 if (seat == null)
                     return "좌석 '" + seatInput + "'을(를) 찾을 수 없습니다. 다시 입력해주세요.";
@@ -291,6 +376,7 @@ public class MovieBookingFlowHandler {
 
                 seatCodes.add(seatCode);
                 seatLabels.add(seatInput);
+                seatPrices.add(pricePerSeat);
                 totalAmount += pricePerSeat;
             }
 
@@ -302,6 +388,7 @@ public class MovieBookingFlowHandler {
             s.getBookingContext().put("seatCodes", seatCodes);
             s.getBookingContext().put("phoneNumber", phoneNumber);
             s.getBookingContext().put("seatLabels", seatLabels);
+            s.getBookingContext().put("seatPrices", seatPrices);
             s.getBookingContext().put("amount", totalAmount);
 
             // JSON 형식으로 결제 정보 및 액션 타입 포함
@@ -323,7 +410,7 @@ public class MovieBookingFlowHandler {
         // ------------------------------------------------
         if (s.getStep() == UserSession.Step.MOVIE_PAYMENT_CONFIRM) {
             // 사용자 입력이 '결제'를 의미한다고 가정
-            if (userInput.toLowerCase().contains("결제") || userInput.toLowerCase().contains("confirm")) {
+            if (signals.has(Signal.PAYMENT)) {
 
                 String scheduleNum = String.valueOf(s.getBookingContext().get("scheduleNum"));
                 String phoneNumber = String.valueOf(s.getBookingContext().get("phoneNumber"));
@@ -348,18 +435,30 @@ public class MovieBookingFlowHandler {
                 int successCount = 0;
                 StringBuilder failMsg = new StringBuilder();
 
-                // 각 좌석에 대해 예약 요청 (순차 처리) + ✅ 동일한 bookingGroupId 전달
-                for (Integer code : seatCodes) {
-                    Map<String, Object> res = intentService.processIntent(
-                            "movie_booking_step4",
-                            Map.of(
-                                    "scheduleNum", scheduleNum,
-                                    "seatCode", code,
-                                    "phoneNumber", phoneNumber,
-                                    "bookingGroupId", bookingGroupId)); // ✅ 그룹ID 전달
+                // HOLD 에 성공한 좌석만 확정/알림 대상 (좌석별 금액이 없으면 전체 금액 사용)
+                @SuppressWarnings("unchecked")
+                List<String> allLabels = (List<String>) s.getBookingContext().get("seatLabels");
+                @SuppressWarnings("unchecked")
+                List<Integer> allPrices = (List<Integer>) s.getBookingContext().get("seatPrices");
+                boolean perSeat = allLabels != null && allPrices != null
+                        && allLabels.size() == seatCodes.size() && allPrices.size() == seatCodes.size();
+                List<String> heldLabels = new ArrayList<>();
+                int heldAmount = 0;
+
+                // 모든 좌석을 한 번에 HOLD 요청 + ✅ 동일한 bookingGroupId 전달
+                Map<Integer, Map<String, Object>> holdResults = holdSeats(scheduleNum, phoneNumber, bookingGroupId,
+                        seatCodes);
+
+                for (int i = 0; i < seatCodes.size(); i++) {
+                    Integer code = seatCodes.get(i);
+                    Map<String, Object> res = holdResults.getOrDefault(code, Map.of("error", "응답 없음"));
 
                     if (res.containsKey("message")) {
                         successCount++;
+                        if (perSeat) {
+                            heldLabels.add(allLabels.get(i));
+                            heldAmount += allPrices.get(i);
+                        }
                     } else {
                         failMsg.append("좌석(ID:").append(code).append(") 실패: ").append(res.getOrDefault("error", "오류"))
                                 .append("\n");
@@ -368,7 +467,9 @@ public class MovieBookingFlowHandler {
 
                 if (successCount > 0) {
                     // ⭐ 관리자 서버 전송 (일괄 처리)
-                    int totalAmount = Integer.parseInt(String.valueOf(s.getBookingContext().get("amount")));
+                    int totalAmount = perSeat
+                            ? heldAmount
+                            : Integer.parseInt(String.valueOf(s.getBookingContext().get("amount")));
                     intentService.processIntent("movie_booking_finalize", Map.of(
                             "scheduleNum", scheduleNum,
                             "phoneNumber", phoneNumber,
@@ -376,13 +477,11 @@ public class MovieBookingFlowHandler {
 
                     // 📧 이메일 알림 발송 (알림 동의한 사용자만)
                     try {
-                        MemberDTO member = userMapper.findById(userId);
+                        MemberDTO member = memberLookupService.findById(userId);
                         if (member != null && "Y".equals(member.getNotificationStatus())) {
                             String movieTitle = String.valueOf(s.getBookingContext().get("movieTitle"));
                             String branchName = String.valueOf(s.getBookingContext().get("branchName"));
-                            @SuppressWarnings("unchecked")
-                            List<String> seatLabels = (List<String>) s.getBookingContext().get("seatLabels");
-                            String seats = String.join(", ", seatLabels);
+                            String seats = String.join(", ", perSeat ? heldLabels : allLabels);
 
                             // 상영 시간 정보 (scheduleNum으로부터 조회하거나 기본값 사용)
                             String showtime = s.getBookingContext().getOrDefault("showtime", "예약 내역에서 확인").toString();
@@ -1,7 +1,10 @@
 package com.hulahoop.blueback.ai.model.service.movie;
 
 import com.hulahoop.blueback.ai.model.service.IntentService;
-import com.hulahoop.blueback.member.model.dao.UserMapper;
+import com.hulahoop.blueback.ai.model.service.prompt.PromptSignals;
+import com.hulahoop.blueback.ai.model.service.prompt.Signal;
+import com.hulahoop.blueback.ai.model.service.session.UserSession;
+import com.hulahoop.blueback.member.model.service.MemberLookupService;
 import com.hulahoop.blueback.member.model.dto.MemberDTO;
 import org.springframework.stereotype.Service;
 
@@ -11,31 +14,28 @@ import java.util.*;
 public class MovieCancelHandler {
 
     private final IntentService intentService;
-    private final UserMapper userMapper;
+    private final MemberLookupService memberLookupService;
 
-    // 유저 상태 저장
-    private final Map<String, String> userState = new HashMap<>();
-    // 선택된 예매번호 저장
-    private final Map<String, String> selectedReservation = new HashMap<>();
+    // 취소 진행 상태/선택된 예매번호는 UserSession 에 저장 (세션 만료 시 함께 정리됨)
 
-    public MovieCancelHandler(IntentService intentService, UserMapper userMapper) {
+    public MovieCancelHandler(IntentService intentService, MemberLookupService memberLookupService) {
         this.intentService = intentService;
-        this.userMapper = userMapper;
+        this.memberLookupService = memberLookupService;
     }
 
     /**
      * 🔥 MovieFlowRouter에서 사용되는 핵심 함수
      * → 유저가 현재 취소 진행중인지 판단한다.
      */
-    public boolean isInCancelFlow(String userId) {
-        String state = userState.get(userId);
+    public boolean isInCancelFlow(UserSession session) {
+        String state = session.getCancelState();
         return state != null && !state.equals("idle");
     }
 
-    public String handle(String userInput, String userId) {
+    public String handle(String userInput, UserSession session, String userId) {
 
         // 회원 정보 조회
-        MemberDTO member = userMapper.findById(userId);
+        MemberDTO member = memberLookupService.findById(userId);
         if (member == null)
             return "❌ 회원 정보를 찾을 수 없습니다. 로그인 상태를 확인해주세요.";
 
@@ -44,53 +44,49 @@ public class MovieCancelHandler {
             return "⚠️ 회원 정보에 전화번호가 등록되어 있지 않습니다. 고객센터에 문의해주세요.";
         }
 
+        PromptSignals signals = session.signalsFor(userInput);
+
         // 현재 상태 불러오기
-        String currentState = userState.getOrDefault(userId, "idle");
+        String currentState = Objects.requireNonNullElse(session.getCancelState(), "idle");
 
         Map<String, Object> data = new HashMap<>();
         data.put("phoneNumber", phoneNumber);
 
         // 1️⃣ 취소 흐름 시작
-        if (userInput.matches("(?i)^예매 취소.*|^2번$")) {
-            userState.put(userId, "awaiting_reservation_num");
+        if (signals.startsWith(Signal.BOOKING_CANCEL) || signals.has(Signal.MENU_2)) {
+            session.setCancelState("awaiting_reservation_num");
 
             Map<String, Object> res = intentService.processIntent("movie_cancel_step1", data);
             return buildResponse(res, "📋 취소 가능한 예매 내역입니다:\n\n", true);
         }
 
         // 2️⃣ 예매 번호 입력 단계
-        if (currentState.equals("awaiting_reservation_num") && userInput.matches("^\\d{10}$")) {
+        if (currentState.equals("awaiting_reservation_num") && signals.isReservationNumber()) {
 
-            userState.put(userId, "awaiting_confirmation");
-            selectedReservation.put(userId, userInput);
+            String reservationNum = userInput.trim();
+            session.setCancelState("awaiting_confirmation");
+            session.setSelectedReservation(reservationNum);
 
-            data.put("reservationNum", userInput);
+            data.put("reservationNum", reservationNum);
             Map<String, Object> res = intentService.processIntent("movie_cancel_step2", data);
-
             return res.getOrDefault("message", "❌ 예매 정보를 찾을 수 없습니다.").toString();
         }
 
         // 3️⃣ 취소 거절
-        if (currentState.equals("awaiting_confirmation") &&
-                List.of("아니오", "취소", "안할래", "그만", "아니", "안돼").stream()
-                        .anyMatch(p -> p.equalsIgnoreCase(userInput))) {
+        if (currentState.equals("awaiting_confirmation") && signals.has(Signal.DECLINE)) {
 
-            userState.remove(userId);
-            selectedReservation.remove(userId);
+            session.clearCancelState();
             return "🚫 예매 취소가 취소되었습니다. 다른 작업을 원하시면 메뉴를 선택해주세요.";
         }
 
         // 4️⃣ 취소 확정
-        if (currentState.equals("awaiting_confirmation") &&
-                List.of("네", "예", "응", "그래", "좋아", "ㅇㅇ", "오케이").stream()
-                        .anyMatch(p -> p.equalsIgnoreCase(userInput))) {
+        if (currentState.equals("awaiting_confirmation") && signals.has(Signal.CONFIRM)) {
 
-            String reservationNum = selectedReservation.get(userId);
+            String reservationNum = session.getSelectedReservation();
             data.put("reservationNum", reservationNum);
 
             // 상태 초기화
-            userState.remove(userId);
-            selectedReservation.remove(userId);
+            session.clearCancelState();
 
             Map<String, Object> res = intentService.processIntent("movie_cancel_step3", data);
             return res.getOrDefault("message", "⚠️ 예매 취소 처리 중 오류가 발생했습니다.").toString();
@@ -25,17 +25,17 @@ public class MovieFlowRouter {
         this.membershipVerificationService = membershipVerificationService;
     }
 
-    public boolean isInCancelFlow(String userId) {
-        return cancelHandler.isInCancelFlow(userId);
+    public boolean isInCancelFlow(UserSession session) {
+        return cancelHandler.isInCancelFlow(session);
     }
 
     public String handle(String userInput, UserSession session, String userId) {
 
-        if (cancelHandler.isInCancelFlow(userId)) {
-            return cancelHandler.handle(userInput, userId);
+        if (cancelHandler.isInCancelFlow(session)) {
+            return cancelHandler.handle(userInput, session, userId);
         }
 
-        MovieIntentResolver.MovieIntent intent = intentResolver.resolve(userInput);
+        MovieIntentResolver.MovieIntent intent = intentResolver.resolve(session.signalsFor(userInput));
 
         System.out.println("🧭 현재 상태: " + session.getStep());
         System.out.println("🎯 해석된 intent: " + intent);
@@ -85,7 +85,7 @@ public class MovieFlowRouter {
                 yield bookingHandler.handle(userInput, session, userId);
             }
             case LOOKUP_BOOKING -> lookupHandler.handle(userInput, userId);
-            case CANCEL_BOOKING -> cancelHandler.handle(userInput, userId);
+            case CANCEL_BOOKING -> cancelHandler.handle(userInput, session, userId);
             default -> "❓ 죄송합니다. 이해하지 못했어요. 다시 말씀해 주세요.";
         };
     }
@@ -1,5 +1,7 @@
 package com.hulahoop.blueback.ai.model.service.movie;
 
+import com.hulahoop.blueback.ai.model.service.prompt.PromptSignals;
+import com.hulahoop.blueback.ai.model.service.prompt.Signal;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -14,21 +16,22 @@ public class MovieIntentResolver {
     }
 
     public MovieIntent resolve(String input) {
-        if (input == null || input.isBlank()) return MovieIntent.UNKNOWN;
+        return resolve(PromptSignals.scan(input));
+    }
 
-        input = input.toLowerCase().trim();
+    public MovieIntent resolve(PromptSignals input) {
+        if (input.isBlank()) return MovieIntent.UNKNOWN;
 
         /** 🔒 1) 숫자(예매번호) 입력은 절대 CANCEL_BOOKING 아님 */
         // 예매번호는 항상 10자리 숫자를 사용하므로 해당 입력은 취소/조회 Intent로 분리되면 안 됨
-        if (input.matches("^\\d{10}$")) {
+        if (input.isReservationNumber()) {
             return MovieIntent.UNKNOWN;
         }
 
         /** 🎬 2) 예매 시작 Intent */
         if (
-                (input.contains("영화") && input.contains("예매")) ||
-                        (input.contains("영화") && input.contains("예약")) ||
-                        input.contains("영화 예매")
+                (input.has(Signal.MOVIE) && input.hasAny(Signal.BOOK, Signal.RESERVE)) ||
+                        input.has(Signal.MOVIE_BOOKING)
         ) {
             System.out.println("예매");
             return MovieIntent.START_BOOKING;
@@ -36,11 +39,8 @@ public class MovieIntentResolver {
 
         /** ❌ 3) 예매 취소 Intent */
         if (
-                (input.contains("예매") && input.contains("취소")) ||   // 예매 취소
-                        (input.contains("예약") && input.contains("취소")) ||   // 예약 취소
-                        input.contains("예매 취소") ||
-                        input.contains("예약 취소") ||
-                        input.matches("^(2번|2)$")                              // 메뉴에서 2번
+                (input.hasAny(Signal.BOOK, Signal.RESERVE) && input.has(Signal.CANCEL)) ||   // 예매/예약 취소
+                        input.has(Signal.MENU_2)                                                 // 메뉴에서 2번
         ) {
             System.out.println("취소");
             return MovieIntent.CANCEL_BOOKING;
@@ -48,10 +48,8 @@ public class MovieIntentResolver {
 
         /** 🔍 4) 예매 조회 Intent */
         if (
-                input.contains("내 예매") ||
-                        input.contains("예매 확인") ||
-                        input.contains("예약 확인") ||
-                        input.matches("^(1번|1)$")     // 메뉴에서 1번
+                input.has(Signal.MY_BOOKING) ||
+                        input.has(Signal.MENU_1)     // 메뉴에서 1번
         ) {
             System.out.println("조회");
             return MovieIntent.LOOKUP_BOOKING;
@@ -59,9 +57,7 @@ public class MovieIntentResolver {
 
         /** 🎥 5) 상영 정보 조회 Intent */
         if (
-                input.contains("상영") ||
-                        input.contains("시간표") ||
-                        input.contains("스케줄")
+                input.hasAny(Signal.SCREENING, Signal.TIMETABLE, Signal.SCHEDULE)
         ) {
             return MovieIntent.SHOW_MOVIES;
         }
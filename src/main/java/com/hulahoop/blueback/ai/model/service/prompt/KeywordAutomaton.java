@@ -0,0 +1,159 @@
+package com.hulahoop.blueback.ai.model.service.prompt;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * 여러 문구를 한 번에 찾는 Aho-Corasick 오토마톤
+ * - 문구마다 long 비트마스크를 붙여 두고, scan 한 번으로 포함된 모든 문구의 마스크를 OR 해서 반환
+ * - 상태 전이는 상태별로 정렬된 char 배열 + 이진 탐색 (한글은 알파벳이 커서 전체 전이표를 만들지 않음)
+ * - 입력은 문자 단위로 소문자화하며 스캔 (toLowerCase 사본을 만들지 않음), 문구는 소문자로 등록
+ */
+final class KeywordAutomaton {
+
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    private final long[] output;    // 이 상태에서 끝나는 모든 문구 (실패 링크를 따라 합친 값)
+    private final long[] ownOutput; // 루트에서 이 상태까지의 경로 자체가 문구인 경우만
+
+    private KeywordAutomaton(char[][] edgeChars, int[][] edgeTargets, int[] fail, long[] output, long[] ownOutput) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.output = output;
+        this.ownOutput = ownOutput;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * text[from, to) 스캔
+     *
+     * @param prefixOut 길이 1 배열이면 text[from] 에서 시작하는 문구의 마스크를 [0] 에 기록, 필요 없으면 null
+     * @return 포함된 모든 문구의 마스크
+     */
+    long scan(CharSequence text, int from, int to, long[] prefixOut) {
+        long mask = 0;
+        long prefix = 0;
+        boolean direct = true; // 아직 text[from] 부터 실패 없이 이어지는 중
+        int state = 0;
+
+        for (int i = from; i < to; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = next(state, c)) < 0 && state != 0) {
+                state = fail[state];
+                direct = false;
+            }
+            if (next < 0) {
+                direct = false;
+                continue; // 루트에서도 이어지지 않음
+            }
+            state = next;
+            mask |= output[state];
+            if (direct) {
+                prefix |= ownOutput[state];
+            }
+        }
+
+        if (prefixOut != null) {
+            prefixOut[0] = prefix;
+        }
+        return mask;
+    }
+
+    private int next(int state, char c) {
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i >= 0 ? edgeTargets[state][i] : -1;
+    }
+
+    static final class Builder {
+
+        private final List<Map<Character, Integer>> edges = new ArrayList<>();
+        private final List<Long> own = new ArrayList<>();
+
+        private Builder() {
+            newState();
+        }
+
+        Builder add(String phrase, long mask) {
+            if (phrase.isEmpty()) {
+                throw new IllegalArgumentException("빈 문구는 등록할 수 없음");
+            }
+            int state = 0;
+            for (int i = 0; i < phrase.length(); i++) {
+                char c = Character.toLowerCase(phrase.charAt(i));
+                Integer next = edges.get(state).get(c);
+                if (next == null) {
+                    next = newState();
+                    edges.get(state).put(c, next);
+                }
+                state = next;
+            }
+            own.set(state, own.get(state) | mask);
+            return this;
+        }
+
+        KeywordAutomaton build() {
+            int size = edges.size();
+            char[][] edgeChars = new char[size][];
+            int[][] edgeTargets = new int[size][];
+            for (int s = 0; s < size; s++) {
+                Map<Character, Integer> out = edges.get(s); // TreeMap → 이미 정렬됨
+                edgeChars[s] = new char[out.size()];
+                edgeTargets[s] = new int[out.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> e : out.entrySet()) {
+                    edgeChars[s][i] = e.getKey();
+                    edgeTargets[s][i] = e.getValue();
+                    i++;
+                }
+            }
+
+            int[] fail = new int[size];
+            long[] output = new long[size];
+            long[] ownOutput = new long[size];
+            for (int s = 0; s < size; s++) {
+                ownOutput[s] = own.get(s);
+                output[s] = own.get(s);
+            }
+
+            // BFS 순서로 실패 링크 계산 → 부모의 실패 링크가 항상 먼저 확정됨
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int child : edges.get(0).values()) {
+                fail[child] = 0;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int s = queue.poll();
+                for (Map.Entry<Character, Integer> e : edges.get(s).entrySet()) {
+                    char c = e.getKey();
+                    int child = e.getValue();
+                    int f = fail[s];
+                    while (f != 0 && !edges.get(f).containsKey(c)) {
+                        f = fail[f];
+                    }
+                    Integer target = edges.get(f).get(c);
+                    fail[child] = target != null && target != child ? target : 0;
+                    output[child] |= output[fail[child]];
+                    queue.add(child);
+                }
+            }
+            return new KeywordAutomaton(edgeChars, edgeTargets, fail, output, ownOutput);
+        }
+
+        private int newState() {
+            edges.add(new TreeMap<>());
+            own.add(0L);
+            return edges.size() - 1;
+        }
+    }
+}
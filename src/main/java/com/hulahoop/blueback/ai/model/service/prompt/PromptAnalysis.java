@@ -0,0 +1,45 @@
+package com.hulahoop.blueback.ai.model.service.prompt;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 프롬프트 한 턴의 분석 결과 (PromptAnalyzer.analyze)
+ *
+ * @param text         원본 프롬프트
+ * @param targetDate   대화 기준 날짜 (내일 > 모레 > M월 D일 > 오늘 순, 항상 값이 있음)
+ * @param dateFilter   상영 일정 조회 필터 ("today", "tomorrow", "2025-M-D"), 날짜 언급이 없으면 null
+ * @param placeKeyword 장소 키워드 (…역 / …동 / …구 / …시 로 끝나는 첫 단어), 없으면 null
+ * @param seatLabels   좌석 라벨 (A3, B12 …) 입력 순서대로, 대문자
+ * @param timeRange    이용 시간 (HH:mm ~ HH:mm), 없으면 null
+ * @param number       입력에 들어 있는 숫자를 모두 이어 붙인 값 (목록 번호 선택용), 없거나 int 범위를 넘으면 null
+ */
+public record PromptAnalysis(
+        String text,
+        LocalDate targetDate,
+        String dateFilter,
+        String placeKeyword,
+        List<String> seatLabels,
+        TimeRange timeRange,
+        Integer number) {
+
+    /**
+     * 목록에서 고른 번호 (1 ~ size 범위가 아니면 null)
+     */
+    public Integer index(int size) {
+        return number != null && number >= 1 && number <= size ? number : null;
+    }
+
+    /**
+     * 이용 시간 범위 — 종료가 시작보다 빠르면 자정을 넘긴 것으로 봄
+     */
+    public record TimeRange(LocalTime start, LocalTime end) {
+
+        public long minutes() {
+            long minutes = Duration.between(start, end).toMinutes();
+            return minutes < 0 ? minutes + 24 * 60 : minutes;
+        }
+    }
+}
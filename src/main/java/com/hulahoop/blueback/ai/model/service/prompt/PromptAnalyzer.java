@@ -0,0 +1,191 @@
+package com.hulahoop.blueback.ai.model.service.prompt;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 프롬프트에서 날짜/장소/좌석/시간/번호를 한 번에 추출
+ * - 모든 항목을 하나의 정규식(미리 컴파일)으로 묶어 find 한 번의 순회로 처리
+ *   (이전에는 GeminiService, MovieBookingFlowHandler, KakaoLocalService, BikeFlowHandler 가
+ *    각자 Pattern.compile / matches / replaceAll / split 으로 같은 입력을 여러 번 파싱)
+ * - 장소 토큰(\S+역 등)에 붙어 있는 날짜/시간/좌석은 그 구간만 다시 훑어서 찾음
+ * - 번호 선택용 숫자는 정규식 없이 문자 단위로 처리
+ * - 한 턴 안에서는 UserSession.analysisFor 로 같은 결과를 공유
+ */
+public final class PromptAnalyzer {
+
+    // "M월 D일" 에 연도가 없으므로 기존 동작대로 상영 데이터 기준 연도 사용
+    static final int DEFAULT_YEAR = 2025;
+
+    private static final String SEAT = "(?<![A-Za-z0-9])(?<seat>[A-Za-z]\\d{1,2})(?![0-9])";
+
+    // 날짜/시간/좌석 (장소 토큰 안에서도 다시 찾음)
+    private static final String DATE_TIME_SEAT = "(?<relative>오늘|내일|모레)"
+            + "|(?<month>\\d{1,2})월\\s*(?<day>\\d{1,2})일"
+            + "|(?<startHour>\\d{1,2}):(?<startMinute>\\d{2})\\s*~\\s*(?<endHour>\\d{1,2}):(?<endMinute>\\d{2})"
+            + "|" + SEAT;
+
+    // 같은 위치에서는 앞쪽 대안이 우선 (장소는 이전 KakaoLocalService.extractPlaceKeyword 와 같이 역 > 동 > 구 > 시 순)
+    private static final Pattern TOKENS = Pattern.compile(
+            DATE_TIME_SEAT + "|(?<place>\\S+역|\\S+동|\\S+구|\\S+시)");
+
+    // 장소 토큰은 \S+ 로 붙어 있는 날짜까지 삼킴 ("CGV12월5일상영시") → 그 구간만 이 패턴으로 다시 훑음
+    private static final Pattern INNER_TOKENS = Pattern.compile(DATE_TIME_SEAT);
+
+    private static final Pattern SEAT_ONLY = Pattern.compile(SEAT);
+    private static final Pattern SEPARATORS = Pattern.compile("[,\\s]+");
+
+    private PromptAnalyzer() {
+    }
+
+    public static PromptAnalysis analyze(String prompt) {
+        return analyze(prompt, LocalDate.now());
+    }
+
+    public static PromptAnalysis analyze(String prompt, LocalDate today) {
+        if (prompt == null) {
+            return new PromptAnalysis(null, today, null, null, List.of(), null, null);
+        }
+
+        Scan scan = new Scan();
+        Matcher m = TOKENS.matcher(prompt);
+        while (m.find()) {
+            if (m.group("place") == null) {
+                scan.accept(m);
+                continue;
+            }
+            if (scan.place == null) {
+                scan.place = m.group("place");
+            }
+            Matcher inner = INNER_TOKENS.matcher(prompt)
+                    .region(m.start(), m.end())
+                    .useTransparentBounds(true);
+            while (inner.find()) {
+                scan.accept(inner);
+            }
+        }
+
+        // 대화 기준 날짜: 내일 > 모레 > M월 D일 > 오늘
+        LocalDate targetDate = scan.hasTomorrow ? today.plusDays(1)
+                : scan.hasDayAfter ? today.plusDays(2)
+                : scan.monthDay != null ? scan.monthDay
+                : today;
+
+        // 상영 일정 필터: 오늘 > 내일 > M월 D일 (모레는 필터 미지원)
+        String dateFilter = scan.hasToday ? "today"
+                : scan.hasTomorrow ? "tomorrow"
+                : scan.monthDayFilter;
+
+        return new PromptAnalysis(prompt, targetDate, dateFilter, scan.place,
+                scan.seats != null ? List.copyOf(scan.seats) : List.of(), scan.timeRange,
+                concatenatedDigits(prompt));
+    }
+
+    /**
+     * 좌석 라벨로 읽히지 않은 영문/숫자 토큰 (쉼표/공백 구분, 대문자) — 좌석 선택 단계의 잘못된 입력 안내용
+     * - "A3, AA4" → [AA4], "A3번 자리" → [] (한글만 있는 토큰은 좌석 입력으로 보지 않음)
+     */
+    public static List<String> unmatchedSeatTokens(String prompt) {
+        if (prompt == null) {
+            return List.of();
+        }
+        List<String> unmatched = new ArrayList<>(1);
+        for (String token : SEPARATORS.split(prompt)) {
+            if (!token.isEmpty() && hasAsciiLetterOrDigit(token) && !SEAT_ONLY.matcher(token).find()) {
+                unmatched.add(token.toUpperCase(Locale.ROOT));
+            }
+        }
+        return unmatched;
+    }
+
+    private static boolean hasAsciiLetterOrDigit(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if ((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 한 번의 순회 동안 모은 값 (장소 토큰 안을 다시 훑을 때도 같은 곳에 누적) */
+    private static final class Scan {
+        boolean hasToday;
+        boolean hasTomorrow;
+        boolean hasDayAfter;
+        LocalDate monthDay;
+        String monthDayFilter;
+        String place;
+        List<String> seats;
+        PromptAnalysis.TimeRange timeRange;
+
+        void accept(Matcher m) {
+            String relative = m.group("relative");
+            if (relative != null) {
+                switch (relative) {
+                    case "오늘" -> hasToday = true;
+                    case "내일" -> hasTomorrow = true;
+                    default -> hasDayAfter = true;
+                }
+            } else if (m.group("month") != null) {
+                if (monthDayFilter == null) {
+                    int month = Integer.parseInt(m.group("month"));
+                    int day = Integer.parseInt(m.group("day"));
+                    monthDayFilter = DEFAULT_YEAR + "-" + month + "-" + day;
+                    monthDay = dateOrNull(month, day);
+                }
+            } else if (m.group("startHour") != null) {
+                if (timeRange == null) {
+                    timeRange = timeRangeOrNull(m);
+                }
+            } else if (m.group("seat") != null) {
+                if (seats == null) {
+                    seats = new ArrayList<>(4);
+                }
+                seats.add(m.group("seat").toUpperCase(Locale.ROOT));
+            }
+        }
+    }
+
+    private static LocalDate dateOrNull(int month, int day) {
+        try {
+            return LocalDate.of(DEFAULT_YEAR, month, day);
+        } catch (DateTimeException e) {
+            return null; // 13월, 2월 30일 등 → 날짜 언급 없음으로 처리
+        }
+    }
+
+    private static PromptAnalysis.TimeRange timeRangeOrNull(Matcher m) {
+        int startHour = Integer.parseInt(m.group("startHour"));
+        int startMinute = Integer.parseInt(m.group("startMinute"));
+        int endHour = Integer.parseInt(m.group("endHour"));
+        int endMinute = Integer.parseInt(m.group("endMinute"));
+        if (startHour > 23 || endHour > 23 || startMinute > 59 || endMinute > 59) {
+            return null;
+        }
+        return new PromptAnalysis.TimeRange(LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+    }
+
+    // 숫자만 이어 붙인 값 ("2번" → 2), int 범위를 넘으면 null
+    private static Integer concatenatedDigits(String text) {
+        long value = 0;
+        boolean found = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                found = true;
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE) {
+                    return null;
+                }
+            }
+        }
+        return found ? (int) value : null;
+    }
+}
@@ -0,0 +1,155 @@
+package com.hulahoop.blueback.ai.model.service.prompt;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 프롬프트 한 턴의 라우팅 신호
+ * - Signal 의 모든 문구를 하나의 오토마톤으로 컴파일해 두고, 프롬프트를 한 번만 훑어 모든 신호를 찾음
+ *   (라우터마다 toLowerCase + contains / stream().anyMatch / matches 를 반복하던 것을 대체)
+ * - 한 턴 안에서는 UserSession.signalsFor 로 같은 결과를 여러 라우터/핸들러가 공유
+ */
+public final class PromptSignals {
+
+    private static final KeywordAutomaton AUTOMATON;
+    private static final Map<String, Long> EXACT = new HashMap<>();
+    private static final int MAX_EXACT_LENGTH;
+
+    private static final int RESERVATION_NUMBER_LENGTH = 10;
+
+    static {
+        if (Signal.values().length > Long.SIZE) {
+            throw new IllegalStateException("신호는 최대 64개까지 지원");
+        }
+        KeywordAutomaton.Builder builder = KeywordAutomaton.builder();
+        int maxExact = 0;
+        for (Signal signal : Signal.values()) {
+            for (String phrase : signal.phrases()) {
+                if (signal.getMatch() == Signal.Match.CONTAINS) {
+                    builder.add(phrase, signal.bit());
+                } else {
+                    EXACT.merge(phrase.toLowerCase(Locale.ROOT), signal.bit(), (a, b) -> a | b);
+                    maxExact = Math.max(maxExact, phrase.length());
+                }
+            }
+        }
+        AUTOMATON = builder.build();
+        MAX_EXACT_LENGTH = maxExact;
+    }
+
+    private static final PromptSignals BLANK = new PromptSignals("", 0, 0, false, true);
+
+    private final String text;
+    private final long mask;
+    private final long prefixMask;
+    private final boolean reservationNumber;
+    private final boolean blank;
+
+    private PromptSignals(String text, long mask, long prefixMask, boolean reservationNumber, boolean blank) {
+        this.text = text;
+        this.mask = mask;
+        this.prefixMask = prefixMask;
+        this.reservationNumber = reservationNumber;
+        this.blank = blank;
+    }
+
+    public static PromptSignals scan(String prompt) {
+        if (prompt == null) {
+            return BLANK;
+        }
+
+        // String.trim 과 같은 기준으로 앞뒤 공백 제외
+        int from = 0;
+        int to = prompt.length();
+        while (from < to && prompt.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && prompt.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        if (from == to) {
+            return new PromptSignals(prompt, 0, 0, false, true);
+        }
+
+        long[] prefix = new long[1];
+        long mask = AUTOMATON.scan(prompt, from, to, prefix);
+
+        int length = to - from;
+        if (length <= MAX_EXACT_LENGTH) {
+            Long exact = EXACT.get(prompt.substring(from, to).toLowerCase(Locale.ROOT));
+            if (exact != null) {
+                mask |= exact;
+            }
+        }
+
+        return new PromptSignals(prompt, mask, prefix[0], isDigits(prompt, from, to, RESERVATION_NUMBER_LENGTH), false);
+    }
+
+    /**
+     * 원본 프롬프트 (scan 에 넘긴 그대로)
+     */
+    public String text() {
+        return text;
+    }
+
+    public boolean has(Signal signal) {
+        return (mask & signal.bit()) != 0;
+    }
+
+    public boolean hasAny(Signal... signals) {
+        for (Signal signal : signals) {
+            if (has(signal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 앞뒤 공백을 뺀 프롬프트가 이 신호의 문구로 시작하면 true (CONTAINS 신호만)
+     */
+    public boolean startsWith(Signal signal) {
+        return (prefixMask & signal.bit()) != 0;
+    }
+
+    /**
+     * 앞뒤 공백을 뺀 프롬프트가 숫자 10자리 (예매번호)
+     */
+    public boolean isReservationNumber() {
+        return reservationNumber;
+    }
+
+    public boolean isBlank() {
+        return blank;
+    }
+
+    public EnumSet<Signal> signals() {
+        EnumSet<Signal> set = EnumSet.noneOf(Signal.class);
+        for (Signal signal : Signal.values()) {
+            if (has(signal)) {
+                set.add(signal);
+            }
+        }
+        return set;
+    }
+
+    @Override
+    public String toString() {
+        return signals() + (reservationNumber ? " +reservationNumber" : "");
+    }
+
+    private static boolean isDigits(String text, int from, int to, int length) {
+        if (to - from != length) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,67 @@
+package com.hulahoop.blueback.ai.model.service.prompt;
+
+/**
+ * 프롬프트에서 찾는 라우팅 신호와 그 신호를 만드는 문구
+ * - CONTAINS: 문구가 프롬프트 어디에든 포함되면 (대소문자 무시)
+ * - EXACT: 앞뒤 공백을 뺀 프롬프트 전체가 문구와 같으면 (대소문자 무시)
+ * 같은 문구가 여러 신호에 들어가도 됨 (예: "취소" → CANCEL, STOP)
+ */
+public enum Signal {
+
+    // 영화
+    MOVIE(Match.CONTAINS, "영화"),
+    MOVIE_BOOKING(Match.CONTAINS, "영화 예매", "영화 예약"),
+    BOOK(Match.CONTAINS, "예매"),
+    RESERVE(Match.CONTAINS, "예약"),
+    CANCEL(Match.CONTAINS, "취소"),
+    BOOKING_CANCEL(Match.CONTAINS, "예매 취소"),
+    MY_BOOKING(Match.CONTAINS, "내 예매", "예매 확인", "예약 확인"),
+    SCREENING(Match.CONTAINS, "상영"),
+    TIMETABLE(Match.CONTAINS, "시간표"),
+    SCHEDULE(Match.CONTAINS, "스케줄"),
+
+    // 자전거
+    BIKE(Match.CONTAINS, "자전거"),
+    BIKE_ALIAS(Match.CONTAINS, "바이크"),
+    DDAREUNGI(Match.CONTAINS, "따릉이"),
+    BIKE_BOOKING(Match.CONTAINS, "자전거 예약", "따릉이 예약", "바이크 예약"),
+    RENTAL(Match.CONTAINS, "대여"),
+
+    // 예매 진행 중 전역 명령
+    STOP(Match.CONTAINS, "그만", "종료", "취소", "나가기", "닫기", "안할래"),
+    HISTORY(Match.CONTAINS, "조회", "예매함", "예약함", "내역"),
+    PAYMENT(Match.CONTAINS, "결제", "confirm"),
+
+    // 프롬프트 전체가 한 단어인 경우
+    EXIT(Match.EXACT, "그만", "취소", "끝", "종료", "나가기", "안할래"),
+    EXIT_FINISH(Match.EXACT, "끝내기"),
+    RESERVE_ONLY(Match.EXACT, "예약"),
+    MENU_1(Match.EXACT, "1", "1번"),
+    MENU_2(Match.EXACT, "2", "2번"),
+    CONFIRM(Match.EXACT, "네", "예", "응", "그래", "좋아", "ㅇㅇ", "오케이"),
+    DECLINE(Match.EXACT, "아니오", "취소", "안할래", "그만", "아니", "안돼");
+
+    public enum Match {
+        CONTAINS, EXACT
+    }
+
+    private final Match match;
+    private final String[] phrases;
+
+    Signal(Match match, String... phrases) {
+        this.match = match;
+        this.phrases = phrases;
+    }
+
+    public Match getMatch() {
+        return match;
+    }
+
+    String[] phrases() {
+        return phrases;
+    }
+
+    long bit() {
+        return 1L << ordinal();
+    }
+}
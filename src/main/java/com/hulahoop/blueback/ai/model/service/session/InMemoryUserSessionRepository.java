@@ -0,0 +1,170 @@
+package com.hulahoop.blueback.ai.model.service.session;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자 대화 세션 저장소 (메모리, 기본값)
+ * - 일정 시간(idle TTL) 동안 대화가 없으면 세션 제거
+ * - 최대 세션 수를 넘으면 가장 오래 사용하지 않은 세션부터 제거
+ *   (접근 순서 LinkedHashMap 이라 가장 오래된 세션이 항상 맨 앞 → 제거는 O(1), 유휴 정리도 앞에서부터만 확인)
+ * - 세션별 대략적인 메모리 사용량을 집계하여 actuator 게이지로 노출
+ */
+@Component
+@ConditionalOnProperty(name = "chat.session.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserSessionRepository implements UserSessionRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryUserSessionRepository.class);
+
+    private static final class Entry {
+        final UserSession session;
+        long lastAccess;
+        long estimatedBytes;
+
+        Entry(UserSession session, long now) {
+            this.session = session;
+            this.lastAccess = now;
+        }
+    }
+
+    // 접근 순서 유지 (this 잠금 안에서만 사용) — 조회할 때마다 맨 뒤로 이동
+    private final LinkedHashMap<String, Entry> sessions;
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final long idleTtlMillis;
+    private final int maxSessions;
+
+    public InMemoryUserSessionRepository(MeterRegistry meterRegistry,
+            @Value("${chat.session.idle-ttl:30m}") Duration idleTtl,
+            @Value("${chat.session.max-sessions:10000}") int maxSessions) {
+        this.idleTtlMillis = idleTtl.toMillis();
+        this.maxSessions = maxSessions;
+
+        this.sessions = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                // 방금 넣은 세션은 맨 뒤이므로 maxSessions >= 1 이면 제거 대상이 아님
+                if (size() > InMemoryUserSessionRepository.this.maxSessions) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        Gauge.builder("chat.sessions.live", this, InMemoryUserSessionRepository::size)
+                .description("현재 메모리에 유지 중인 대화 세션 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("chat.sessions.evictions", evictions, AtomicLong::get)
+                .description("TTL/최대 개수 초과로 제거된 세션 수")
+                .register(meterRegistry);
+        Gauge.builder("chat.sessions.estimated.bytes", this, InMemoryUserSessionRepository::estimatedBytes)
+                .description("세션이 차지하는 대략적인 힙 사용량")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세션 조회 (없으면 생성) + 마지막 사용 시각 갱신
+     */
+    @Override
+    public synchronized UserSession getOrCreate(String userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = sessions.get(userId);
+        if (entry == null) {
+            entry = new Entry(new UserSession(), now);
+            sessions.put(userId, entry);
+        }
+        entry.lastAccess = now;
+        return entry.session;
+    }
+
+    /**
+     * 세션 조회 (없으면 null, 생성하지 않음)
+     * - 조회도 사용으로 보고 마지막 사용 시각 갱신 (접근 순서와 lastAccess 순서를 같게 유지)
+     */
+    @Override
+    public synchronized UserSession find(String userId) {
+        Entry entry = sessions.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.session;
+    }
+
+    /**
+     * 턴 처리가 끝난 뒤 호출 — 메모리 추정치 갱신
+     * (세션 내용은 같은 사용자의 턴 잠금 안에서만 바뀌므로 이 시점에 계산)
+     */
+    @Override
+    public void afterTurn(String userId) {
+        Entry entry;
+        synchronized (this) {
+            entry = sessions.get(userId);
+            if (entry == null) {
+                return;
+            }
+            entry.lastAccess = System.currentTimeMillis();
+        }
+        entry.session.endTurn();
+        long bytes = entry.session.estimateBytes();
+        synchronized (this) {
+            entry.estimatedBytes = bytes;
+        }
+    }
+
+    @Override
+    public synchronized void remove(String userId) {
+        sessions.remove(userId);
+    }
+
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    public synchronized long estimatedBytes() {
+        long total = 0;
+        for (Entry entry : sessions.values()) {
+            total += entry.estimatedBytes;
+        }
+        return total;
+    }
+
+    /**
+     * 오래 사용하지 않은 세션 정리 (접근 순서라 아직 유효한 세션을 만나면 중단)
+     */
+    @Scheduled(fixedDelayString = "${chat.session.sweep-interval-ms:60000}")
+    public void evictIdleSessions() {
+        long deadline = System.currentTimeMillis() - idleTtlMillis;
+        int removed = 0;
+        int remaining;
+
+        synchronized (this) {
+            Iterator<Entry> it = sessions.values().iterator();
+            while (it.hasNext() && it.next().lastAccess < deadline) {
+                it.remove();
+                removed++;
+            }
+            remaining = sessions.size();
+        }
+
+        if (removed > 0) {
+            evictions.addAndGet(removed);
+            log.info("🧹 유휴 세션 {}개 정리 (남은 세션: {})", removed, remaining);
+        }
+    }
+}
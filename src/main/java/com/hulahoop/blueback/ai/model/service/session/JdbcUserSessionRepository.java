@@ -0,0 +1,285 @@
+package com.hulahoop.blueback.ai.model.service.session;
+
+import com.hulahoop.blueback.ai.model.dao.ChatSessionMapper;
+import com.hulahoop.blueback.ai.model.dto.ChatSessionRowDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자 대화 세션 저장소 (DB, chat.session.store=jdbc)
+ * - 세션을 UserSessionCodec 바이너리로 T_ChatSession 에 저장 → 어느 노드에서든 이어서 대화 가능
+ * - write-behind: 턴이 끝나면 직렬화만 해 두고(pending), 단계/플로우/취소 상태가 바뀐 턴은 바로 비동기 저장,
+ *   그 외(대화 기록만 늘어난 턴)는 flush-interval 마다 모아서 저장
+ * - 아직 저장되지 않은 세션은 이 노드에서 먼저 읽으므로 같은 노드의 다음 턴은 항상 최신 상태를 봄
+ *   (다른 노드로 넘어간 경우 최대 flush-interval 만큼의 대화 기록이 늦게 보일 수 있음, 단계는 즉시 반영)
+ * - 노드 간에는 턴이 직렬화되지 않으므로 version 으로 낙관적 잠금:
+ *   읽은 version 그대로일 때만 저장, 그 사이 다른 노드가 저장했으면(충돌) 이 노드의 pending 은 오래된 것이라 버림
+ *   pending 을 다시 읽을 때도 DB version 을 확인해 다른 노드가 앞서 있으면 DB 쪽 세션을 사용
+ */
+@Component
+@ConditionalOnProperty(name = "chat.session.store", havingValue = "jdbc")
+public class JdbcUserSessionRepository implements UserSessionRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcUserSessionRepository.class);
+
+    // 턴 처리 중인 세션 + 꺼낼 때의 상태 (afterTurn 에서 단계 전환 여부 판단)
+    private record CheckedOut(UserSession session, String state) {
+    }
+
+    // 직렬화는 끝났지만 아직 DB 에 쓰지 않은 세션
+    private record Pending(UserSession session, byte[] data, String step) {
+    }
+
+    private final ChatSessionMapper chatSessionMapper;
+    private final long idleTtlSeconds;
+
+    private final Map<String, CheckedOut> checkedOut = new ConcurrentHashMap<>();
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    // 이 노드의 세션이 기반으로 하는 DB version (행이 없으면 항목 없음 → 최초 저장은 INSERT)
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final ExecutorService writer;
+
+    private final Counter transitionWrites;
+    private final Counter periodicWrites;
+    private final Counter writeFailures;
+    private final Counter writeConflicts;
+    private final Counter decodeFailures;
+    private final DistributionSummary encodedBytes;
+
+    public JdbcUserSessionRepository(ChatSessionMapper chatSessionMapper,
+            MeterRegistry meterRegistry,
+            @Value("${chat.session.idle-ttl:30m}") Duration idleTtl) {
+        this.chatSessionMapper = chatSessionMapper;
+        this.idleTtlSeconds = idleTtl.toSeconds();
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "chat-session-writer");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.transitionWrites = Counter.builder("chat.session.writes").tag("trigger", "transition")
+                .register(meterRegistry);
+        this.periodicWrites = Counter.builder("chat.session.writes").tag("trigger", "periodic")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("chat.session.write.failures").register(meterRegistry);
+        this.writeConflicts = Counter.builder("chat.session.write.conflicts")
+                .description("다른 노드가 먼저 저장해 이 노드의 오래된 세션을 버린 횟수")
+                .register(meterRegistry);
+        this.decodeFailures = Counter.builder("chat.session.decode.failures")
+                .description("저장된 세션을 읽지 못해 새 세션으로 시작한 횟수")
+                .register(meterRegistry);
+        this.encodedBytes = DistributionSummary.builder("chat.session.encoded.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("chat.sessions.pending", pending, Map::size)
+                .description("DB 에 아직 저장되지 않은 세션 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public UserSession getOrCreate(String userId) {
+        UserSession session = lookup(userId);
+        if (session == null) {
+            session = new UserSession();
+        }
+        checkedOut.put(userId, new CheckedOut(session, state(session)));
+        return session;
+    }
+
+    @Override
+    public UserSession find(String userId) {
+        UserSession session = lookup(userId);
+        if (session != null) {
+            checkedOut.put(userId, new CheckedOut(session, state(session)));
+        }
+        return session;
+    }
+
+    /**
+     * 턴 종료 — 직렬화해서 pending 에 올리고, 단계가 바뀌었으면 바로 저장 예약
+     */
+    @Override
+    public void afterTurn(String userId) {
+        CheckedOut out = checkedOut.remove(userId);
+        if (out == null) {
+            return;
+        }
+        UserSession session = out.session();
+        session.endTurn();
+        byte[] data = UserSessionCodec.encode(session);
+        encodedBytes.record(data.length);
+        pending.put(userId, new Pending(session, data, session.getStep().name()));
+
+        if (!Objects.equals(out.state(), state(session))) {
+            try {
+                writer.execute(() -> {
+                    if (flush(userId)) {
+                        transitionWrites.increment();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료 중 → stop() 의 flushPending 이 저장
+            }
+        }
+    }
+
+    @Override
+    public void remove(String userId) {
+        checkedOut.remove(userId);
+        pending.remove(userId);
+        versions.remove(userId);
+        try {
+            chatSessionMapper.delete(userId);
+        } catch (Exception e) {
+            log.warn("❌ 세션 삭제 실패: {} ({})", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 대화 기록만 바뀐 세션 모아서 저장
+     */
+    @Scheduled(fixedDelayString = "${chat.session.flush-interval-ms:2000}")
+    public void flushPending() {
+        for (String userId : pending.keySet()) {
+            if (flush(userId)) {
+                periodicWrites.increment();
+            }
+        }
+    }
+
+    /**
+     * 오래 저장되지 않은 세션 삭제 (모든 노드가 실행해도 결과는 같음)
+     */
+    @Scheduled(fixedDelayString = "${chat.session.sweep-interval-ms:60000}")
+    public void evictIdleSessions() {
+        try {
+            int removed = chatSessionMapper.deleteIdle(idleTtlSeconds);
+            if (removed > 0) {
+                log.info("🧹 유휴 세션 {}개 정리 (DB)", removed);
+            }
+        } catch (Exception e) {
+            log.warn("❌ 유휴 세션 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        flushPending();
+        if (!pending.isEmpty()) {
+            log.warn("⚠️ 저장하지 못한 세션 {}개 (종료)", pending.size());
+        }
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private UserSession lookup(String userId) {
+        CheckedOut out = checkedOut.get(userId);
+        if (out != null) {
+            return out.session();
+        }
+        Pending p = pending.get(userId);
+        if (p != null && isCurrent(userId, p)) {
+            return p.session();
+        }
+
+        ChatSessionRowDTO row = chatSessionMapper.findSession(userId);
+        if (row == null) {
+            versions.remove(userId);
+            return null;
+        }
+        versions.put(userId, row.getVersion());
+        try {
+            return UserSessionCodec.decode(row.getData());
+        } catch (RuntimeException e) {
+            decodeFailures.increment();
+            log.warn("⚠️ 저장된 세션을 읽을 수 없어 새로 시작: {} ({})", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * pending 이 DB 의 최신 상태 위에 만들어졌는지 확인 (다른 노드가 그 뒤에 저장했으면 pending 을 버림)
+     * - flush 와 같은 잠금 안에서 비교해야 저장 직후의 version 갱신을 충돌로 오인하지 않음
+     */
+    private synchronized boolean isCurrent(String userId, Pending p) {
+        Long dbVersion;
+        try {
+            dbVersion = chatSessionMapper.findVersion(userId);
+        } catch (Exception e) {
+            // 확인할 수 없으면 이 노드의 내용으로 계속 (저장 시 다시 version 으로 걸러짐)
+            log.warn("❌ 세션 version 확인 실패: {} ({})", userId, e.getMessage());
+            return true;
+        }
+        if (Objects.equals(dbVersion, versions.get(userId))) {
+            return true;
+        }
+        discardStale(userId, p);
+        return false;
+    }
+
+    /**
+     * 전환 저장(writer 스레드)과 주기 저장이 겹쳐도 오래된 내용이 나중에 써지지 않도록 직렬화
+     *
+     * @return 실제로 DB 에 썼으면 true
+     */
+    private synchronized boolean flush(String userId) {
+        Pending p = pending.get(userId);
+        if (p == null) {
+            return false;
+        }
+        Long version = versions.get(userId);
+        int written;
+        try {
+            written = version == null
+                    ? chatSessionMapper.insertIfAbsent(userId, p.data(), p.step())
+                    : chatSessionMapper.updateIfVersion(userId, p.data(), p.step(), version);
+        } catch (Exception e) {
+            // pending 에 그대로 두고 다음 주기에 재시도
+            writeFailures.increment();
+            log.warn("❌ 세션 저장 실패: {} ({})", userId, e.getMessage());
+            return false;
+        }
+        if (written == 0) {
+            // 읽은 뒤 다른 노드가 먼저 저장함 → 이 내용은 오래된 것
+            discardStale(userId, p);
+            return false;
+        }
+        versions.put(userId, version == null ? 1 : version + 1);
+        // 저장하는 사이 새 턴이 끝났으면 그 내용은 남겨 둠
+        pending.remove(userId, p);
+        return true;
+    }
+
+    private void discardStale(String userId, Pending p) {
+        writeConflicts.increment();
+        pending.remove(userId, p);
+        versions.remove(userId);
+        log.warn("⚠️ 다른 노드가 먼저 저장한 세션 - 이 노드의 저장 대기 내용 버림: {}", userId);
+    }
+
+    private static String state(UserSession session) {
+        return session.getStep() + "/" + session.getFlowType() + "/" + session.getCancelState();
+    }
+}
@@ -1,5 +1,9 @@
 package com.hulahoop.blueback.ai.model.service.session;
 
+import com.hulahoop.blueback.ai.model.service.prompt.PromptAnalysis;
+import com.hulahoop.blueback.ai.model.service.prompt.PromptAnalyzer;
+import com.hulahoop.blueback.ai.model.service.prompt.PromptSignals;
+
 import java.util.*;
 
 public class UserSession {
@@ -31,6 +35,14 @@ public class UserSession {
     private List<Map<String, Object>> lastSeats = new ArrayList<>();
     private List<Map<String, Object>> lastBikes = new ArrayList<>();
 
+    // 영화 예매 취소 플로우 상태 (null 이면 취소 플로우 아님)
+    private String cancelState;
+    private String selectedReservation;
+
+    // 이번 턴 프롬프트의 라우팅 신호 / 분석 결과 (저장/직렬화 대상 아님, 턴이 끝나면 비움)
+    private PromptSignals signals;
+    private PromptAnalysis analysis;
+
     // Getter / Setter
     public Step getStep() {
         return step;
@@ -88,6 +100,61 @@ public class UserSession {
         this.lastBikes = lastBikes;
     }
 
+    public String getCancelState() {
+        return cancelState;
+    }
+
+    public void setCancelState(String cancelState) {
+        this.cancelState = cancelState;
+    }
+
+    public String getSelectedReservation() {
+        return selectedReservation;
+    }
+
+    public void setSelectedReservation(String selectedReservation) {
+        this.selectedReservation = selectedReservation;
+    }
+
+    /**
+     * 이번 턴 프롬프트의 라우팅 신호 — 같은 입력이면 한 번만 스캔하고 라우터/핸들러가 공유
+     */
+    public PromptSignals signalsFor(String input) {
+        PromptSignals current = signals;
+        if (current == null || !current.text().equals(input)) {
+            current = PromptSignals.scan(input);
+            signals = current;
+        }
+        return current;
+    }
+
+    /**
+     * 이번 턴 프롬프트의 날짜/장소/좌석/시간/번호 분석 결과 — 같은 입력이면 한 번만 파싱
+     */
+    public PromptAnalysis analysisFor(String input) {
+        PromptAnalysis current = analysis;
+        if (current == null || !Objects.equals(current.text(), input)) {
+            current = PromptAnalyzer.analyze(input);
+            analysis = current;
+        }
+        return current;
+    }
+
+    /**
+     * 턴 종료 — 이번 턴 분석 결과를 비움
+     * (분석은 "내일"/"오늘" 을 LocalDate.now() 기준으로 풀기 때문에, 다음 턴에 같은 문장을 다시 보내면 새로 분석해야 함)
+     */
+    public void endTurn() {
+        signals = null;
+        analysis = null;
+    }
+
+    // 취소 플로우 종료
+    public void clearCancelState() {
+        cancelState = null;
+        selectedReservation = null;
+    }
+
     // 기록 추가
     public void addHistory(Map<String, Object> entry) {
         history.add(entry);
@@ -104,4 +171,50 @@ public class UserSession {
         lastSeats.clear();
         lastBikes.clear();
     }
-}
\ No newline at end of file
+
+    // =========================================================
+    // 메모리 사용량 추정 (대략적인 값, 세션 저장소 게이지용)
+    // =========================================================
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+
+    public long estimateBytes() {
+        long bytes = OBJECT_HEADER + 10 * REFERENCE;
+        bytes += estimate(history);
+        bytes += estimate(bookingContext);
+        bytes += estimate(lastCinemas);
+        bytes += estimate(lastMovies);
+        bytes += estimate(lastSeats);
+        bytes += estimate(lastBikes);
+        bytes += estimate(cancelState);
+        bytes += estimate(selectedReservation);
+        return bytes;
+    }
+
+    private static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String str) {
+            return 40 + 2L * str.length();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 24;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 48 + 36L * map.size();
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                bytes += estimate(e.getKey()) + estimate(e.getValue());
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> list) {
+            long bytes = 40 + (long) REFERENCE * list.size();
+            for (Object item : list) {
+                bytes += estimate(item);
+            }
+            return bytes;
+        }
+        return 32;
+    }
+}
@@ -0,0 +1,601 @@
+package com.hulahoop.blueback.ai.model.service.session;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UserSession 바이너리 직렬화 (세션 저장소 → DB 저장용)
+ * - 첫 바이트는 포맷 버전, encode 는 항상 최신 버전(v2), decode 는 이전 버전도 읽음
+ * - 정수/길이는 varint (작은 값은 1바이트), Integer/Long/Double/BigDecimal 타입은 그대로 복원
+ *   (핸들러가 (int), (double) 로 바로 캐스팅하므로 타입이 바뀌면 안 됨)
+ * - 지원하지 않는 타입(LocalDate 등)은 toString() 결과를 문자열로 저장
+ *
+ * v1: [버전][태그 값...] — 모든 필드를 같은 태그 형식으로 기록, Map 키는 매번 문자열
+ * v2: 필드별 고정 레이아웃
+ *   [버전][단계 코드][플로우 코드][플래그][cancelState?][selectedReservation?]
+ *   [bookingContext][lastCinemas][lastMovies][lastSeats][lastBikes][history]
+ *   - 단계/플로우는 아래 STEPS/FLOWS 배열 위치로 1바이트
+ *   - Map 키는 KEYS 사전 번호(1바이트), 사전에 없는 키는 처음 한 번만 문자열로 쓰고 이후 번호로 참조
+ *   - 32바이트 이하 문자열 값도 문서 안에서 두 번째부터는 번호로 참조 (좌석 행 이름, 지점명 등 반복 값)
+ *   - 대화 기록은 {role, parts:[{text}]} 모양이면 [user/model 코드][text] 만 기록
+ */
+public final class UserSessionCodec {
+
+    static final byte VERSION_1 = 1;
+    static final byte VERSION_2 = 2;
+
+    // 값 태그 (v1, v2 공통)
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte TRUE = 5;
+    private static final byte FALSE = 6;
+    private static final byte LIST = 7;
+    private static final byte MAP = 8;
+    private static final byte DECIMAL = 9;
+    private static final byte STRING_REF = 10; // v2
+
+    // v2 대화 기록 항목 종류
+    private static final byte HISTORY_USER = 0;
+    private static final byte HISTORY_MODEL = 1;
+    private static final byte HISTORY_GENERIC = 2;
+
+    private static final int FLAG_CANCEL_STATE = 1;
+    private static final int FLAG_SELECTED_RESERVATION = 1 << 1;
+
+    private static final int MAX_INTERNED_STRING_BYTES = 32;
+
+    // ⚠️ v2 로 저장된 세션이 남아 있는 동안 순서를 바꾸거나 중간에 끼워 넣으면 안 됨 (끝에 추가만 가능)
+    private static final UserSession.Step[] STEPS = {
+            UserSession.Step.IDLE,
+            UserSession.Step.BRANCH_SELECT,
+            UserSession.Step.MOVIE_SELECT,
+            UserSession.Step.SEAT_SELECT,
+            UserSession.Step.MOVIE_PAYMENT_CONFIRM,
+            UserSession.Step.BIKE_SELECT,
+            UserSession.Step.BIKE_TIME_INPUT,
+            UserSession.Step.BIKE_PAYMENT_CONFIRM,
+    };
+
+    private static final UserSession.FlowType[] FLOWS = {
+            UserSession.FlowType.NONE,
+            UserSession.FlowType.MOVIE,
+            UserSession.FlowType.BIKE,
+    };
+
+    // ⚠️ v2 키 사전 — 마찬가지로 끝에 추가만 가능 (게이트웨이 응답/bookingContext/대화 기록에서 쓰는 키)
+    private static final String[] KEYS = {
+            "role", "parts", "text",
+            "branch_num", "branch_name", "address", "distance", "latitude", "longitude",
+            "scheduleNum", "movieTitle", "screeningDate", "screeningNumber", "branchName", "branchNum", "showtime",
+            "seat_code", "row_label", "col_num", "is_aisle", "reserved", "seatCode", "seatLabel",
+            "bicycleCode", "bicycleType", "status", "ratePerHour",
+            "targetDate", "dateFilter", "seatCodes", "seatLabels", "phoneNumber", "amount", "price",
+            "startTime", "endTime", "reservationNum", "bookingId", "bookingGroupId", "orderId",
+    };
+
+    private static final Map<String, Integer> KEY_IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < KEYS.length; i++) {
+            KEY_IDS.put(KEYS[i], i);
+        }
+    }
+
+    private UserSessionCodec() {
+    }
+
+    public static byte[] encode(UserSession session) {
+        Writer out = new Writer(512, true);
+        out.writeByte(VERSION_2);
+        out.writeByte((byte) indexOf(STEPS, session.getStep()));
+        out.writeByte((byte) indexOf(FLOWS, session.getFlowType()));
+
+        String cancelState = session.getCancelState();
+        String selectedReservation = session.getSelectedReservation();
+        int flags = (cancelState != null ? FLAG_CANCEL_STATE : 0)
+                | (selectedReservation != null ? FLAG_SELECTED_RESERVATION : 0);
+        out.writeByte((byte) flags);
+        if (cancelState != null) {
+            out.writeString(cancelState);
+        }
+        if (selectedReservation != null) {
+            out.writeString(selectedReservation);
+        }
+
+        out.writeMapBody(session.getBookingContext());
+        out.writeRows(session.getLastCinemas());
+        out.writeRows(session.getLastMovies());
+        out.writeRows(session.getLastSeats());
+        out.writeRows(session.getLastBikes());
+
+        List<Map<String, Object>> history = session.getHistory();
+        out.writeVarLong(history.size());
+        for (Map<String, Object> entry : history) {
+            out.writeHistoryEntry(entry);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException 알 수 없는 버전이거나 데이터가 손상된 경우
+     */
+    public static UserSession decode(byte[] data) {
+        if (data.length == 0) {
+            throw new IllegalArgumentException("빈 세션 데이터");
+        }
+        return switch (data[0]) {
+            case VERSION_2 -> decodeV2(new Reader(data, 1, true));
+            case VERSION_1 -> decodeV1(new Reader(data, 1, false));
+            default -> throw new IllegalArgumentException("지원하지 않는 세션 포맷 버전: " + data[0]);
+        };
+    }
+
+    private static UserSession decodeV2(Reader in) {
+        UserSession session = new UserSession();
+        session.setStep(byCode(STEPS, in.readByte(), UserSession.Step.IDLE));
+        session.setFlowType(byCode(FLOWS, in.readByte(), UserSession.FlowType.NONE));
+
+        int flags = in.readByte();
+        if ((flags & FLAG_CANCEL_STATE) != 0) {
+            session.setCancelState(in.readString());
+        }
+        if ((flags & FLAG_SELECTED_RESERVATION) != 0) {
+            session.setSelectedReservation(in.readString());
+        }
+
+        session.getBookingContext().putAll(in.readMapBody());
+        session.setLastCinemas(in.readRows());
+        session.setLastMovies(in.readRows());
+        session.setLastSeats(in.readRows());
+        session.setLastBikes(in.readRows());
+
+        int historySize = in.readLength();
+        for (int i = 0; i < historySize; i++) {
+            session.addHistory(in.readHistoryEntry());
+        }
+        return session;
+    }
+
+    private static UserSession decodeV1(Reader in) {
+        UserSession session = new UserSession();
+        session.setStep(byName(UserSession.Step.class, in.readValue(), UserSession.Step.IDLE));
+        session.setFlowType(byName(UserSession.FlowType.class, in.readValue(), UserSession.FlowType.NONE));
+        session.setCancelState((String) in.readValue());
+        session.setSelectedReservation((String) in.readValue());
+        for (Map<String, Object> entry : mapList(in.readValue())) {
+            session.addHistory(entry);
+        }
+        Object context = in.readValue();
+        if (context != null) {
+            session.getBookingContext().putAll(castMap(context));
+        }
+        session.setLastCinemas(mapList(in.readValue()));
+        session.setLastMovies(mapList(in.readValue()));
+        session.setLastSeats(mapList(in.readValue()));
+        session.setLastBikes(mapList(in.readValue()));
+        return session;
+    }
+
+    /**
+     * v1 포맷으로 기록 (이전 버전 데이터 읽기 호환성 테스트용)
+     */
+    static byte[] encodeV1(UserSession session) {
+        Writer out = new Writer(256, false);
+        out.writeByte(VERSION_1);
+        out.writeValue(session.getStep().name());
+        out.writeValue(session.getFlowType().name());
+        out.writeValue(session.getCancelState());
+        out.writeValue(session.getSelectedReservation());
+        out.writeValue(session.getHistory());
+        out.writeValue(session.getBookingContext());
+        out.writeValue(session.getLastCinemas());
+        out.writeValue(session.getLastMovies());
+        out.writeValue(session.getLastSeats());
+        out.writeValue(session.getLastBikes());
+        return out.toByteArray();
+    }
+
+    private static <T> int indexOf(T[] values, T value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("코드가 정의되지 않은 값: " + value);
+    }
+
+    private static <T> T byCode(T[] values, int code, T fallback) {
+        return code >= 0 && code < values.length ? values[code] : fallback;
+    }
+
+    private static <E extends Enum<E>> E byName(Class<E> type, Object name, E fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        try {
+            return Enum.valueOf(type, (String) name);
+        } catch (IllegalArgumentException e) {
+            return fallback; // 이후 버전에서 없어진 단계 → 처음부터
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castMap(Object value) {
+        return (Map<String, Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> mapList(Object value) {
+        return value != null ? (List<Map<String, Object>>) value : new ArrayList<>();
+    }
+
+    // =========================================================
+    // 바이트 버퍼
+    // =========================================================
+
+    private static final class Writer {
+
+        private final boolean v2;
+        private byte[] buf;
+        private int pos;
+
+        // v2: 문서 안에서 처음 나온 키/짧은 문자열 → 번호 (Reader 와 같은 순서로 등록)
+        private Map<String, Integer> extraKeys;
+        private Map<String, Integer> strings;
+
+        Writer(int capacity, boolean v2) {
+            this.buf = new byte[capacity];
+            this.v2 = v2;
+        }
+
+        void writeHistoryEntry(Map<String, Object> entry) {
+            String text = simpleText(entry);
+            Object role = entry.get("role");
+            if (text != null && "user".equals(role)) {
+                writeByte(HISTORY_USER);
+                writeString(text);
+            } else if (text != null && "model".equals(role)) {
+                writeByte(HISTORY_MODEL);
+                writeString(text);
+            } else {
+                writeByte(HISTORY_GENERIC);
+                writeMapBody(entry);
+            }
+        }
+
+        // {role, parts:[{text}]} 모양이면 text, 아니면 null
+        private static String simpleText(Map<String, Object> entry) {
+            if (entry.size() != 2 || !(entry.get("parts") instanceof List<?> parts) || parts.size() != 1) {
+                return null;
+            }
+            if (parts.get(0) instanceof Map<?, ?> part && part.size() == 1 && part.get("text") instanceof String text) {
+                return text;
+            }
+            return null;
+        }
+
+        void writeRows(List<Map<String, Object>> rows) {
+            if (rows == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(rows.size());
+            for (Map<String, Object> row : rows) {
+                writeMapBody(row);
+            }
+        }
+
+        void writeMapBody(Map<?, ?> map) {
+            writeVarLong(map.size());
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                writeKey(String.valueOf(e.getKey()));
+                writeValue(e.getValue());
+            }
+        }
+
+        /**
+         * v2 키: 0 = 새 키 문자열이 뒤따름, n = n-1 번 키 (사전 다음에 문서 안에서 새로 나온 키가 이어짐)
+         */
+        private void writeKey(String key) {
+            if (!v2) {
+                writeString(key);
+                return;
+            }
+            Integer id = KEY_IDS.get(key);
+            if (id == null && extraKeys != null) {
+                id = extraKeys.get(key);
+            }
+            if (id != null) {
+                writeVarLong(id + 1L);
+                return;
+            }
+            if (extraKeys == null) {
+                extraKeys = new HashMap<>();
+            }
+            extraKeys.put(key, KEYS.length + extraKeys.size());
+            writeVarLong(0);
+            writeString(key);
+        }
+
+        void writeValue(Object value) {
+            if (value == null) {
+                writeByte(NULL);
+            } else if (value instanceof String str) {
+                writeStringValue(str);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                writeByte(INT);
+                writeVarLong(zigZag(((Number) value).longValue()));
+            } else if (value instanceof Long l) {
+                writeByte(LONG);
+                writeVarLong(zigZag(l));
+            } else if (value instanceof Double || value instanceof Float) {
+                writeByte(DOUBLE);
+                writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+            } else if (value instanceof Boolean b) {
+                writeByte(b ? TRUE : FALSE);
+            } else if (value instanceof BigDecimal decimal) {
+                writeByte(DECIMAL);
+                writeString(decimal.toString());
+            } else if (value instanceof Map<?, ?> map) {
+                writeByte(MAP);
+                writeMapBody(map);
+            } else if (value instanceof Collection<?> list) {
+                writeByte(LIST);
+                writeVarLong(list.size());
+                for (Object item : list) {
+                    writeValue(item);
+                }
+            } else {
+                writeStringValue(value.toString());
+            }
+        }
+
+        private void writeStringValue(String value) {
+            if (v2) {
+                Integer ref = strings != null ? strings.get(value) : null;
+                if (ref != null) {
+                    writeByte(STRING_REF);
+                    writeVarLong(ref);
+                    return;
+                }
+            }
+            writeByte(STRING);
+            int length = writeString(value);
+            if (v2 && length <= MAX_INTERNED_STRING_BYTES) {
+                if (strings == null) {
+                    strings = new HashMap<>();
+                }
+                strings.put(value, strings.size());
+            }
+        }
+
+        /**
+         * @return 기록한 UTF-8 바이트 수
+         */
+        int writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+            return bytes.length;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeByte(byte value) {
+            ensure(1);
+            buf[pos++] = value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+
+        private static long zigZag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buf;
+        private final boolean v2;
+        private int pos;
+
+        private List<String> extraKeys;
+        private List<String> strings;
+
+        Reader(byte[] buf, int offset, boolean v2) {
+            this.buf = buf;
+            this.pos = offset;
+            this.v2 = v2;
+        }
+
+        Map<String, Object> readHistoryEntry() {
+            byte kind = readByte();
+            return switch (kind) {
+                case HISTORY_USER, HISTORY_MODEL -> {
+                    Map<String, Object> part = new HashMap<>(2);
+                    part.put("text", readString());
+                    List<Object> parts = new ArrayList<>(1);
+                    parts.add(part);
+                    Map<String, Object> entry = new LinkedHashMap<>(4);
+                    entry.put("role", kind == HISTORY_USER ? "user" : "model");
+                    entry.put("parts", parts);
+                    yield entry;
+                }
+                case HISTORY_GENERIC -> readMapBody();
+                default -> throw new IllegalArgumentException("알 수 없는 기록 종류: " + kind + " (위치 " + (pos - 1) + ")");
+            };
+        }
+
+        List<Map<String, Object>> readRows() {
+            int size = readLength();
+            List<Map<String, Object>> rows = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                rows.add(readMapBody());
+            }
+            return rows;
+        }
+
+        Map<String, Object> readMapBody() {
+            int size = readLength();
+            Map<String, Object> map = new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+            for (int i = 0; i < size; i++) {
+                String key = readKey();
+                map.put(key, readValue());
+            }
+            return map;
+        }
+
+        private String readKey() {
+            if (!v2) {
+                return readString();
+            }
+            long ref = readVarLong();
+            if (ref == 0) {
+                String key = readString();
+                if (extraKeys == null) {
+                    extraKeys = new ArrayList<>();
+                }
+                extraKeys.add(key);
+                return key;
+            }
+            long id = ref - 1;
+            if (id < KEYS.length) {
+                return KEYS[(int) id];
+            }
+            long extra = id - KEYS.length;
+            if (extraKeys == null || extra >= extraKeys.size()) {
+                throw new IllegalArgumentException("잘못된 키 번호: " + id + " (위치 " + pos + ")");
+            }
+            return extraKeys.get((int) extra);
+        }
+
+        Object readValue() {
+            byte tag = readByte();
+            return switch (tag) {
+                case NULL -> null;
+                case STRING -> readStringValue();
+                case STRING_REF -> {
+                    long ref = readVarLong();
+                    if (!v2 || strings == null || ref < 0 || ref >= strings.size()) {
+                        throw new IllegalArgumentException("잘못된 문자열 번호: " + ref + " (위치 " + pos + ")");
+                    }
+                    yield strings.get((int) ref);
+                }
+                case INT -> (int) unZigZag(readVarLong());
+                case LONG -> unZigZag(readVarLong());
+                case DOUBLE -> Double.longBitsToDouble(readLong());
+                case TRUE -> Boolean.TRUE;
+                case FALSE -> Boolean.FALSE;
+                case DECIMAL -> new BigDecimal(readString());
+                case MAP -> readMapBody();
+                case LIST -> {
+                    int size = readLength();
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+                    yield list;
+                }
+                default -> throw new IllegalArgumentException("알 수 없는 태그: " + tag + " (위치 " + (pos - 1) + ")");
+            };
+        }
+
+        private String readStringValue() {
+            int length = readLength();
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            if (v2 && length <= MAX_INTERNED_STRING_BYTES) {
+                if (strings == null) {
+                    strings = new ArrayList<>();
+                }
+                strings.add(value);
+            }
+            return value;
+        }
+
+        String readString() {
+            int length = readLength();
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("varint 가 너무 김 (위치 " + pos + ")");
+        }
+
+        long readLong() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFF);
+            }
+            return value;
+        }
+
+        byte readByte() {
+            require(1);
+            return buf[pos++];
+        }
+
+        int readLength() {
+            long length = readVarLong();
+            if (length < 0 || length > buf.length - pos) {
+                throw new IllegalArgumentException("잘못된 길이: " + length + " (위치 " + pos + ")");
+            }
+            return (int) length;
+        }
+
+        private void require(int n) {
+            if (pos + n > buf.length) {
+                throw new IllegalArgumentException("데이터가 잘림 (위치 " + pos + ")");
+            }
+        }
+
+        private static long unZigZag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
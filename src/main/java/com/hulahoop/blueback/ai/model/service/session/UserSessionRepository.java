@@ -0,0 +1,30 @@
+package com.hulahoop.blueback.ai.model.service.session;
+
+/**
+ * 대화 세션 저장소 SPI
+ * - chat.session.store=memory (기본): 이 노드의 메모리에만 보관 (단일 노드용)
+ * - chat.session.store=jdbc: DB(T_ChatSession)에 바이너리로 저장 → 여러 노드가 같은 세션을 이어서 처리
+ *
+ * 사용 순서: 한 턴 안에서 getOrCreate/find 로 꺼내 수정한 뒤 afterTurn 호출
+ * (같은 사용자의 턴은 UserTurnLocks 로 직렬화되지만 노드 하나 안에서만 해당 —
+ *  여러 노드가 같은 사용자의 턴을 동시에 처리할 수 있으므로 jdbc 구현은 version 으로 충돌을 감지)
+ */
+public interface UserSessionRepository {
+
+    /**
+     * 세션 조회 (없으면 생성)
+     */
+    UserSession getOrCreate(String userId);
+
+    /**
+     * 세션 조회 (없으면 null, 생성하지 않음)
+     */
+    UserSession find(String userId);
+
+    /**
+     * 턴 처리가 끝난 뒤 호출 — 변경된 세션 반영
+     */
+    void afterTurn(String userId);
+
+    void remove(String userId);
+}
@@ -0,0 +1,46 @@
+package com.hulahoop.blueback.ai.model.service.session;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 사용자 단위 턴 잠금
+ * - 같은 userId 의 요청은 순서대로 하나씩 처리
+ * - 서로 다른 userId 의 요청은 완전히 병렬로 처리
+ * - 대기/실행 중인 턴이 없으면 잠금 객체를 제거하여 메모리가 쌓이지 않음
+ */
+public class UserTurnLocks {
+
+    private static final class Entry {
+        final ReentrantLock lock = new ReentrantLock();
+        int holders; // compute 블록 안에서만 변경됨
+    }
+
+    private final ConcurrentHashMap<String, Entry> locks = new ConcurrentHashMap<>();
+
+    public <T> T withLock(String userId, Supplier<T> task) {
+        Entry entry = locks.compute(userId, (k, e) -> {
+            if (e == null) {
+                e = new Entry();
+            }
+            e.holders++;
+            return e;
+        });
+
+        entry.lock.lock();
+        try {
+            return task.get();
+        } finally {
+            entry.lock.unlock();
+            locks.computeIfPresent(userId, (k, e) -> --e.holders == 0 ? null : e);
+        }
+    }
+
+    /**
+     * 현재 잠금을 보유하거나 대기 중인 사용자 수
+     */
+    public int activeUsers() {
+        return locks.size();
+    }
+}
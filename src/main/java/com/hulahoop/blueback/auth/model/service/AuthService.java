@@ -1,5 +1,6 @@
 package com.hulahoop.blueback.auth.model.service;
 
+import com.hulahoop.blueback.ai.model.service.MembershipVerificationService;
 import com.hulahoop.blueback.member.model.dto.MemberDTO;
 import com.hulahoop.blueback.member.model.dao.UserMapper;
 import com.hulahoop.blueback.security.JwtUtil;
@@ -16,11 +17,14 @@ public class AuthService {
     private final UserMapper userMapper;
     private final BCryptPasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final MembershipVerificationService membershipVerificationService;
 
-    public AuthService(UserMapper userMapper, JwtUtil jwtUtil) {
+    public AuthService(UserMapper userMapper, JwtUtil jwtUtil,
+            MembershipVerificationService membershipVerificationService) {
         this.userMapper = userMapper;
         this.passwordEncoder = new BCryptPasswordEncoder();
         this.jwtUtil = jwtUtil;
+        this.membershipVerificationService = membershipVerificationService;
     }
 
     // ✅ 로그인 후 JWT 발급
@@ -46,6 +50,9 @@ public class AuthService {
         String token = jwtUtil.generateToken(member.getId());
         log.info("🎫 발급된 JWT: {}", token);
 
+        // 제휴사(영화관/자전거) 회원 여부를 미리 확인해 두어 첫 예매 시 대기하지 않도록 함
+        membershipVerificationService.prefetch(member.getPhoneNum());
+
         return token;
     }
 }
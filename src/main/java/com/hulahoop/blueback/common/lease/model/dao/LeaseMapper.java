@@ -0,0 +1,21 @@
+package com.hulahoop.blueback.common.lease.model.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface LeaseMapper {
+
+    // ✅ 내가 가진 lease 연장 또는 만료된 lease 가져오기 (성공 시 1)
+    int renewOrTakeOver(@Param("name") String name,
+            @Param("owner") String owner,
+            @Param("ttlMillis") long ttlMillis);
+
+    // ✅ lease 행이 아직 없으면 생성 (이미 있으면 0)
+    int insertIfAbsent(@Param("name") String name,
+            @Param("owner") String owner,
+            @Param("ttlMillis") long ttlMillis);
+
+    // ✅ 내가 가진 lease 즉시 만료 (종료 시 빠른 인계용)
+    int release(@Param("name") String name, @Param("owner") String owner);
+}
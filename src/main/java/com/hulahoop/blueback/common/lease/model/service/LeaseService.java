@@ -0,0 +1,90 @@
+package com.hulahoop.blueback.common.lease.model.service;
+
+import com.hulahoop.blueback.common.lease.model.dao.LeaseMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DB 기반 lease (여러 Blue-back 노드 중 한 노드만 스케줄 작업 실행)
+ * - 소유자 = 호스트명 + 프로세스마다 새로 만든 UUID → 같은 호스트에서 여러 인스턴스를 띄워도 구분됨
+ * - tryAcquire 는 내 lease 연장, 만료된 lease 인수, 최초 생성 중 하나가 성공하면 true
+ * - 소유 노드가 죽으면 ttl 이 지난 뒤 다음 tryAcquire 하는 노드가 자동으로 인수
+ */
+@Service
+public class LeaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaseService.class);
+
+    private final LeaseMapper leaseMapper;
+    private final String owner;
+    private final Set<String> held = ConcurrentHashMap.newKeySet();
+    private final Map<String, Counter> acquisitions = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public LeaseService(LeaseMapper leaseMapper, MeterRegistry meterRegistry) {
+        this.leaseMapper = leaseMapper;
+        this.meterRegistry = meterRegistry;
+        this.owner = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * lease 획득 또는 연장
+     *
+     * @return 이 노드가 ttl 동안 작업을 실행해도 되면 true
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        long ttlMillis = ttl.toMillis();
+        boolean acquired;
+        try {
+            acquired = leaseMapper.renewOrTakeOver(name, owner, ttlMillis) > 0
+                    || leaseMapper.insertIfAbsent(name, owner, ttlMillis) > 0;
+        } catch (Exception e) {
+            // DB 오류 시 실행하지 않음 (다른 노드와 중복 실행 방지가 우선)
+            log.warn("❌ lease 확인 실패: {} ({})", name, e.getMessage());
+            acquired = false;
+        }
+
+        if (acquired && held.add(name)) {
+            log.info("👑 lease 획득: {} (owner={})", name, owner);
+            acquisitions.computeIfAbsent(name,
+                    n -> Counter.builder("scheduler.lease.acquisitions").tag("name", n).register(meterRegistry))
+                    .increment();
+        } else if (!acquired && held.remove(name)) {
+            log.info("🔻 lease 상실: {} (owner={})", name, owner);
+        }
+        return acquired;
+    }
+
+    /**
+     * 가진 lease 즉시 반납 (종료 시 다른 노드가 ttl 을 기다리지 않고 인수)
+     */
+    public void release(String name) {
+        if (!held.remove(name)) {
+            return;
+        }
+        try {
+            leaseMapper.release(name, owner);
+            log.info("🔓 lease 반납: {} (owner={})", name, owner);
+        } catch (Exception e) {
+            log.warn("❌ lease 반납 실패: {} ({})", name, e.getMessage());
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
@@ -1,34 +1,154 @@
 package com.hulahoop.blueback.common.scheduler;
 
+import com.hulahoop.blueback.common.lease.model.service.LeaseService;
 import com.hulahoop.blueback.history.model.dao.HistoryMapper;
-import org.springframework.scheduling.annotation.Scheduled;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 예약 거래 상태 전환 (P: 대기 → S: 완료)
+ * - 1분 고정 주기 대신 다음 start_date 까지 기다렸다가 실행 (최대 max-sleep 마다 한 번은 확인)
+ * - 한 번에 batch-size 건씩 start_date 순으로 UPDATE → 각 UPDATE 가 짧은 트랜잭션으로 끝나 잠금 시간이 짧음
+ * - 메트릭: 실행당 전환 건수, 가장 밀린 거래의 start_date 대비 지연 시간
+ * - 여러 노드가 떠 있어도 DB lease 를 가진 노드 한 곳만 실행 (나머지는 max-sleep 마다 lease 만 확인,
+ *   소유 노드가 죽으면 lease 만료 후 자동 인수)
+ * - 전용 스레드에서 실행 → 밀린 전환이 오래 걸려도 @Scheduled 작업들이 쓰는 공용 스케줄러 스레드를 막지 않음
+ */
 @Component
 public class TransactionStatusScheduler {
 
+    private static final Logger log = LoggerFactory.getLogger(TransactionStatusScheduler.class);
+
+    // 다음 start_date 직후에 바로 잡히도록 약간 여유를 둠
+    private static final Duration MIN_SLEEP = Duration.ofMillis(200);
+
+    private static final String LEASE_NAME = "transaction-status";
+
     private final HistoryMapper historyMapper;
+    private final ScheduledExecutorService executor;
+    private final LeaseService leaseService;
+    private final int batchSize;
+    private final Duration maxSleep;
+    private final Duration leaseTtl;
+
+    private final Counter transitions;
+    private final DistributionSummary transitionsPerRun;
+    private final Timer lag;
+
+    private volatile ScheduledFuture<?> nextRun;
+    private volatile boolean stopped;
 
-    public TransactionStatusScheduler(HistoryMapper historyMapper) {
+    public TransactionStatusScheduler(HistoryMapper historyMapper,
+            LeaseService leaseService,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.transition.batch-size:500}") int batchSize,
+            @Value("${transaction.transition.max-sleep:60s}") Duration maxSleep,
+            @Value("${transaction.transition.lease-ttl:90s}") Duration leaseTtl) {
         this.historyMapper = historyMapper;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "transaction-status");
+            t.setDaemon(true);
+            return t;
+        });
+        this.leaseService = leaseService;
+        this.batchSize = batchSize;
+        this.maxSleep = maxSleep;
+        // 소유 노드는 최대 max-sleep 마다 연장하므로 ttl 은 그보다 길어야 함
+        this.leaseTtl = leaseTtl.compareTo(maxSleep) > 0 ? leaseTtl : maxSleep.multipliedBy(3).dividedBy(2);
+
+        this.transitions = Counter.builder("transaction.transitions").register(meterRegistry);
+        this.transitionsPerRun = DistributionSummary.builder("transaction.transitions.per.run")
+                .description("한 번 실행에서 P → S 로 전환된 거래 수")
+                .register(meterRegistry);
+        this.lag = Timer.builder("transaction.transition.lag")
+                .description("전환 시점에 가장 오래 밀린 거래의 start_date 대비 지연")
+                .register(meterRegistry);
     }
 
-    @Scheduled(fixedRate = 60000) // 1분마다 실행
-    @Transactional
-    public void updatePendingTransactions() {
-        System.out.println("Scheduler running: Checking recent transactions...");
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        schedule(Duration.ZERO);
+    }
 
-        List<com.hulahoop.blueback.history.model.dto.HistoryResponseDto> recentList = historyMapper
-                .findRecentTransactions();
-        for (com.hulahoop.blueback.history.model.dto.HistoryResponseDto dto : recentList) {
-            System.out.println("Tx: " + dto.getTransactionNum() + ", Status: '" + dto.getStatus() + "', StartDate: "
-                    + dto.getStartDate());
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        ScheduledFuture<?> future = nextRun;
+        if (future != null) {
+            future.cancel(false);
         }
+        executor.shutdown();
+        leaseService.release(LEASE_NAME);
+    }
 
-        int updatedCount = historyMapper.updatePendingToSuccess();
-        System.out.println("Scheduler finished: Updated " + updatedCount + " transactions.");
+    /**
+     * 밀린 거래를 모두 전환하고 다음 실행 시각 예약
+     */
+    void updatePendingTransactions() {
+        Duration sleep = maxSleep;
+        try {
+            if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+                return; // 다른 노드가 실행 중
+            }
+            int updated = transitionDue();
+            transitionsPerRun.record(updated);
+            if (updated > 0) {
+                log.info("⏱️ 거래 상태 전환: {}건 (P → S)", updated);
+            }
+            sleep = untilNextDue();
+        } catch (Exception e) {
+            log.warn("❌ 거래 상태 전환 실패", e);
+        } finally {
+            schedule(sleep);
+        }
+    }
+
+    private int transitionDue() {
+        Long lagMicros = historyMapper.findOldestDuePendingLagMicros();
+        if (lagMicros == null) {
+            return 0;
+        }
+        lag.record(Math.max(lagMicros, 0), TimeUnit.MICROSECONDS);
+
+        int total = 0;
+        int updated;
+        do {
+            updated = historyMapper.updatePendingToSuccess(batchSize);
+            total += updated;
+            transitions.increment(updated);
+            // 밀린 양이 많아 오래 걸리면 배치마다 lease 연장 (잃었으면 중단)
+        } while (updated == batchSize && !stopped && leaseService.tryAcquire(LEASE_NAME, leaseTtl));
+        return total;
+    }
+
+    private Duration untilNextDue() {
+        Long micros = historyMapper.findMicrosUntilNextPending();
+        if (micros == null) {
+            return maxSleep;
+        }
+        Duration untilDue = Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(micros)).plus(MIN_SLEEP);
+        return untilDue.compareTo(maxSleep) > 0 ? maxSleep : untilDue;
+    }
+
+    private void schedule(Duration delay) {
+        if (stopped) {
+            return;
+        }
+        nextRun = executor.schedule(this::updatePendingTransactions, delay.toMillis(), TimeUnit.MILLISECONDS);
     }
 }
@@ -0,0 +1,52 @@
+package com.hulahoop.blueback.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+/**
+ * 시작 시 스키마 보강 스크립트 실행
+ * - db/transaction_cancel_set.sql: HistoryMapper 의 거래 내역 조회가 T_TransactionCancel 을 조인하므로
+ *   테이블/트리거가 없으면 조회 자체가 실패 → 매퍼보다 먼저 반드시 적용
+ * - db/transaction_pending_index.sql: TransactionStatusScheduler 의 예약 거래 조회용 (status, start_date) 인덱스
+ * - 스크립트는 여러 번 실행해도 같은 결과 (CREATE IF NOT EXISTS / DROP 후 CREATE / INSERT IGNORE /
+ *   information_schema 로 인덱스 확인 후 생성)
+ * - DB 계정에 DDL/트리거 권한이 없는 환경은 history.cancel-set.migrate=false 로 끄고 DBA 가 직접 적용
+ * - db/scheduler_lease.sql: LeaseService 의 T_SchedulerLease (없으면 어떤 노드도 lease 를 얻지 못해 스케줄 작업이 멈춤)
+ *   → scheduler.lease.migrate=false 로 끄고 직접 적용 가능
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "history.cancel-set.migrate", havingValue = "true", matchIfMissing = true)
+    public DataSourceInitializer transactionCancelSetInitializer(DataSource dataSource) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("db/transaction_cancel_set.sql"),
+                new ClassPathResource("db/transaction_pending_index.sql"));
+        populator.setSqlScriptEncoding("UTF-8");
+
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(populator);
+        return initializer;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "scheduler.lease.migrate", havingValue = "true", matchIfMissing = true)
+    public DataSourceInitializer schedulerLeaseInitializer(DataSource dataSource) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("db/scheduler_lease.sql"));
+        populator.setSqlScriptEncoding("UTF-8");
+
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(populator);
+        return initializer;
+    }
+}
@@ -1,6 +1,7 @@
 package com.hulahoop.blueback.config;
 
 import com.hulahoop.blueback.security.JwtFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -40,6 +41,9 @@ public class SecurityConfig {
                         // ✅ CORS preflight
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+                        // ✅ SSE 스트리밍 완료 시의 async dispatch (최초 요청에서 이미 JWT 인증됨)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // ✅ 결제 관련 API는 비회원 접근 허용
                         .requestMatchers("/api/payments/**").permitAll()
 
@@ -0,0 +1,459 @@
+package com.hulahoop.blueback.email.model.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 메일 발송 대기열 (outbox)
+ * - 요청 스레드는 대기열에 넣고 바로 반환 → 채팅 턴/API 응답에 SMTP 연결 시간이 포함되지 않음
+ * - 대기열은 개수 제한이 있고, 넣을 때마다 로컬 저널 파일에 기록 → 서버가 죽어도 재시작 시 다시 발송
+ *   (E: 등록, A: 발송 완료 또는 최종 실패, 시작 시 A 가 없는 E 만 다시 대기열에 넣고 저널 정리)
+ * - 묶음 발송이 끝나 A 가 기록되면 바로 저널을 미완료 항목만 남도록 다시 씀 → 발송된 본문이 디스크에 남지 않음
+ * - 임시 비밀번호처럼 민감한 본문은 enqueueTransient 로 등록 → 저널에 쓰지 않고 메모리에서만 발송
+ *   (서버가 죽으면 유실되지만 사용자가 다시 요청하면 됨)
+ * - 전용 worker 가 한 번에 여러 통을 꺼내 JavaMailSender.send(MimeMessage...) 로 보냄
+ *   → 한 번의 SMTP 연결로 묶어서 발송
+ * - 실패한 메일은 지수 백오프로 재시도, 최대 횟수 초과 시 포기
+ */
+@Component
+public class EmailOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutbox.class);
+
+    /** 대기 중인 메일 한 통 */
+    record Mail(String id, String to, String subject, String body, boolean html, boolean journaled, int attempts) {
+
+        Mail retried() {
+            return new Mail(id, to, subject, body, html, journaled, attempts + 1);
+        }
+    }
+
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final Path journalPath;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final BlockingQueue<Mail> queue;
+    // 아직 A 가 기록되지 않은 메일 (대기열 + 발송 중 + 재시도 대기)
+    private final Map<String, Mail> pending = new ConcurrentHashMap<>();
+
+    private BufferedWriter journal;
+    // 마지막 저널 정리 이후 기록된 A 개수 (this 잠금 안에서만 읽고 씀)
+    private int acksSinceCompaction;
+    private ExecutorService workerPool;
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+
+    private final Counter sent;
+    private final Counter retries;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer sendTimer;
+    private final DistributionSummary batchSizes;
+
+    public EmailOutbox(JavaMailSender mailSender, MeterRegistry meterRegistry,
+            @Value("${mail.outbox.from:${spring.mail.username:}}") String from,
+            @Value("${mail.outbox.journal:data/mail-outbox.log}") String journalPath,
+            @Value("${mail.outbox.capacity:1000}") int capacity,
+            @Value("${mail.outbox.workers:2}") int workers,
+            @Value("${mail.outbox.batch-size:20}") int batchSize,
+            @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${mail.outbox.retry-backoff:2s}") Duration retryBackoff) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.journalPath = Path.of(journalPath);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.queue = new LinkedBlockingQueue<>(capacity);
+
+        this.sent = Counter.builder("mail.outbox.sent").register(meterRegistry);
+        this.retries = Counter.builder("mail.outbox.retries").register(meterRegistry);
+        this.failed = Counter.builder("mail.outbox.failed").register(meterRegistry);
+        this.rejected = Counter.builder("mail.outbox.rejected").register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.outbox.send.time")
+                .description("SMTP 연결 한 번(묶음 발송)에 걸린 시간")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("mail.outbox.batch.size").register(meterRegistry);
+        Gauge.builder("mail.outbox.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 저널을 다시 읽어 미발송 메일을 대기열에 넣고 worker 시작
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        for (Mail mail : replayJournal()) {
+            if (pending.putIfAbsent(mail.id(), mail) == null && !queue.offer(mail)) {
+                log.warn("⚠️ 메일 대기열이 가득 차 저널 복구 일부를 건너뜀: {}", mail.to());
+                pending.remove(mail.id());
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("📨 미발송 메일 {}건 복구", pending.size());
+        }
+
+        running = true;
+        AtomicInteger seq = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "mail-outbox-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::drainLoop);
+        }
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mail-outbox-retry");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 종료 시 worker 중지 (남은 메일은 저널에 남아 다음 시작 때 발송)
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+        }
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow();
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException ignored) {
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * 메일 발송 등록
+     *
+     * @return 대기열이 가득 차 등록하지 못했으면 false
+     */
+    public boolean enqueue(String to, String subject, String body, boolean html) {
+        return enqueue(new Mail(UUID.randomUUID().toString(), to, subject, body, html, true, 0));
+    }
+
+    /**
+     * 저널에 남기지 않는 메일 발송 등록 (임시 비밀번호 등 디스크에 남으면 안 되는 본문)
+     *
+     * @return 대기열이 가득 차 등록하지 못했으면 false
+     */
+    public boolean enqueueTransient(String to, String subject, String body, boolean html) {
+        return enqueue(new Mail(UUID.randomUUID().toString(), to, subject, body, html, false, 0));
+    }
+
+    private boolean enqueue(Mail mail) {
+        // 저널에 먼저 기록한 뒤 대기열에 넣음 → 대기열에 들어간 메일은 항상 저널에도 있음
+        // (pending 등록도 같은 잠금 안에서 해야 저널 정리가 방금 쓴 E 를 지우지 않음)
+        synchronized (this) {
+            if (mail.journaled()) {
+                writeJournal(enqueueLine(mail));
+            }
+            pending.put(mail.id(), mail);
+        }
+        if (!queue.offer(mail)) {
+            pending.remove(mail.id());
+            acknowledge(mail);
+            rejected.increment();
+            log.warn("❌ 메일 대기열 가득 참 - 발송 등록 실패: {}", mail.to());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 대기열에 여유가 있는지 (등록 전 미리 확인용 — 실제 등록 시점에 가득 찰 수는 있음)
+     */
+    public boolean hasCapacity() {
+        return queue.remainingCapacity() > 0;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    private void drainLoop() {
+        List<Mail> batch = new ArrayList<>(batchSize);
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                Mail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+                compactJournal();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("❌ 메일 발송 worker 오류: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<Mail> batch) {
+        Map<MimeMessage, Mail> messages = new IdentityHashMap<>();
+        for (Mail mail : batch) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException | RuntimeException e) {
+                // 메시지 자체를 만들 수 없으면 재시도해도 같은 결과
+                log.warn("❌ 메일 생성 실패 (재시도 안 함): {} - {}", mail.to(), e.getMessage());
+                complete(mail, false);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        batchSizes.record(messages.size());
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            messages.values().forEach(mail -> complete(mail, true));
+        } catch (MailSendException e) {
+            // 일부만 실패한 경우 실패한 메시지만 재시도
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (Map.Entry<MimeMessage, Mail> entry : messages.entrySet()) {
+                if (failedMessages.isEmpty() || failedMessages.containsKey(entry.getKey())) {
+                    retryLater(entry.getValue(), e);
+                } else {
+                    complete(entry.getValue(), true);
+                }
+            }
+        } catch (MailException e) {
+            // 연결/인증 실패 → 묶음 전체 재시도
+            messages.values().forEach(mail -> retryLater(mail, e));
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private MimeMessage toMimeMessage(Mail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, mail.html(), "UTF-8");
+        if (from != null && !from.isBlank()) {
+            helper.setFrom(from);
+        }
+        helper.setTo(mail.to());
+        helper.setSubject(mail.subject());
+        helper.setText(mail.body(), mail.html());
+        return message;
+    }
+
+    private void retryLater(Mail mail, Exception cause) {
+        Mail next = mail.retried();
+        if (next.attempts() >= maxAttempts) {
+            log.warn("❌ 메일 발송 최종 실패 ({}회 시도): {} - {}", next.attempts(), mail.to(), cause.getMessage());
+            complete(mail, false);
+            return;
+        }
+
+        retries.increment();
+        pending.put(next.id(), next);
+        long delay = retryBackoffMillis << Math.min(next.attempts() - 1, 10);
+        log.info("🔁 메일 재시도 예약 ({}ms 후, {}회차): {}", delay, next.attempts() + 1, mail.to());
+        scheduleRequeue(next, delay);
+    }
+
+    private void scheduleRequeue(Mail mail, long delayMillis) {
+        ScheduledExecutorService scheduler = retryScheduler;
+        if (!running || scheduler == null) {
+            return; // 종료 중 → 저널에 남아 다음 시작 때 발송
+        }
+        scheduler.schedule(() -> {
+            if (!queue.offer(mail)) {
+                scheduleRequeue(mail, retryBackoffMillis); // 대기열이 가득 찼으면 잠시 후 다시
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void complete(Mail mail, boolean delivered) {
+        if (delivered) {
+            sent.increment();
+        } else {
+            failed.increment();
+        }
+        pending.remove(mail.id());
+        acknowledge(mail);
+    }
+
+    private void acknowledge(Mail mail) {
+        if (!mail.journaled()) {
+            return;
+        }
+        synchronized (this) {
+            writeJournal("A\t" + mail.id() + "\n");
+            acksSinceCompaction++;
+        }
+    }
+
+    // ======================================================
+    // 저널
+    // ======================================================
+
+    private void writeJournal(String line) {
+        try {
+            if (journal == null) {
+                Path parent = journalPath.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                journal = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            journal.write(line);
+            journal.flush();
+        } catch (IOException e) {
+            log.warn("❌ 메일 저널 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 저널에서 완료되지 않은 메일을 읽고, 저널을 미완료 항목만 남도록 다시 씀
+     */
+    private synchronized List<Mail> replayJournal() {
+        Map<String, Mail> unfinished = new LinkedHashMap<>();
+        if (!Files.exists(journalPath)) {
+            return List.of();
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] cols = line.split("\t");
+                if (cols.length == 6 && "E".equals(cols[0])) {
+                    try {
+                        unfinished.put(cols[1], new Mail(cols[1], decode(cols[2]), decode(cols[4]),
+                                decode(cols[5]), "1".equals(cols[3]), true, 0));
+                    } catch (IllegalArgumentException ignored) {
+                        // 마지막 줄이 중간에 잘린 경우 등
+                    }
+                } else if (cols.length == 2 && "A".equals(cols[0])) {
+                    unfinished.remove(cols[1]);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("❌ 메일 저널 읽기 실패: {} ({})", journalPath, e.getMessage());
+            return List.of();
+        }
+
+        rewriteJournal(unfinished.values());
+        return new ArrayList<>(unfinished.values());
+    }
+
+    /**
+     * 발송 완료(A)가 기록됐으면 저널을 아직 발송되지 않은 메일만 남도록 다시 씀
+     */
+    private synchronized void compactJournal() {
+        if (acksSinceCompaction == 0) {
+            return;
+        }
+        List<Mail> unfinished = new ArrayList<>();
+        for (Mail mail : pending.values()) {
+            if (mail.journaled()) {
+                unfinished.add(mail);
+            }
+        }
+        if (rewriteJournal(unfinished)) {
+            acksSinceCompaction = 0;
+        }
+    }
+
+    /**
+     * 임시 파일에 쓴 뒤 원자적으로 교체 (this 잠금 안에서 호출)
+     */
+    private boolean rewriteJournal(Iterable<Mail> mails) {
+        Path tmp = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Mail mail : mails) {
+                out.write(enqueueLine(mail));
+            }
+        } catch (IOException e) {
+            log.warn("❌ 메일 저널 정리 실패: {}", e.getMessage());
+            return false;
+        }
+        try {
+            // 열려 있는 writer 는 교체 전 파일을 가리키므로 닫고 다음 기록 때 다시 엶
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.warn("❌ 메일 저널 교체 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static String enqueueLine(Mail mail) {
+        return "E\t" + mail.id() + "\t" + encode(mail.to()) + "\t" + (mail.html() ? "1" : "0") + "\t"
+                + encode(mail.subject()) + "\t" + encode(mail.body()) + "\n";
+    }
+
+    private static String encode(String value) {
+        return Base64.getEncoder().encodeToString((value == null ? "" : value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,124 @@
+package com.hulahoop.blueback.email.model.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 미리 컴파일된 메일 템플릿
+ * - 원문의 {{이름}} 자리를 한 번만 파싱해 [고정 문자열, 슬롯, 고정 문자열, ...] 로 나눠 둠
+ * - render 는 스레드별로 재사용하는 버퍼에 조각을 이어 붙이고 최종 String 하나만 생성
+ *   (String.format 처럼 매번 형식 문자열을 다시 해석하거나 중간 복사본을 만들지 않음)
+ */
+public final class MailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // 긴 HTML 도 다시 늘어나지 않도록 넉넉하게, 너무 커진 버퍼는 버림
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final String[] literals; // literals.length == slots.length + 1
+    private final int[] slots;       // 각 자리에 들어갈 값의 인덱스 (render 인자 순서)
+    private final int literalLength;
+
+    private MailTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 템플릿 컴파일
+     *
+     * @param source    {{이름}} 자리표시가 들어간 원문
+     * @param slotNames render 에 넘길 값의 순서
+     */
+    public static MailTemplate compile(String source, String... slotNames) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, pos);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("닫히지 않은 자리표시: " + source.substring(open));
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            int index = indexOf(slotNames, name);
+            if (index < 0) {
+                throw new IllegalArgumentException("정의되지 않은 자리표시: " + name);
+            }
+            literals.add(source.substring(pos, open));
+            slots.add(index);
+            pos = close + CLOSE.length();
+        }
+        literals.add(source.substring(pos));
+
+        return new MailTemplate(literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * 값 채워서 문자열 생성 (values 는 compile 때 지정한 slotNames 순서)
+     */
+    public String render(String... values) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        renderTo(buffer, values);
+        String result = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * 주어진 버퍼 끝에 이어서 출력
+     */
+    public void renderTo(StringBuilder out, String... values) {
+        out.ensureCapacity(out.length() + literalLength + 64 * slots.length);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = values[slots[i]];
+            out.append(value != null ? value : "");
+        }
+        out.append(literals[slots.length]);
+    }
+
+    /**
+     * 금액 천 단위 구분 (String.format("%,d") 와 같은 결과, 형식 문자열 해석 없음)
+     */
+    public static String formatAmount(long amount) {
+        String digits = Long.toString(Math.abs(amount));
+        int len = digits.length();
+        StringBuilder sb = new StringBuilder(len + len / 3 + 1);
+        if (amount < 0) {
+            sb.append('-');
+        }
+        for (int i = 0; i < len; i++) {
+            if (i > 0 && (len - i) % 3 == 0) {
+                sb.append(',');
+            }
+            sb.append(digits.charAt(i));
+        }
+        return sb.toString();
+    }
+
+    private static int indexOf(String[] names, String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
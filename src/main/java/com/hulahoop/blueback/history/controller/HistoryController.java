@@ -1,9 +1,11 @@
 package com.hulahoop.blueback.history.controller;
 
+import com.hulahoop.blueback.history.model.dto.HistoryPageDto;
 import com.hulahoop.blueback.history.model.dto.HistoryResponseDto;
 import com.hulahoop.blueback.history.model.service.HistoryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -39,6 +42,30 @@ public class HistoryController {
         return ResponseEntity.ok(history);
     }
 
+    // ✅ 페이지 단위 조회 (cursor 는 이전 응답의 nextCursor)
+    @GetMapping("/{memberCode}/page")
+    public ResponseEntity<?> getHistoryPage(@PathVariable String memberCode,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("페이지 조회: memberCode={}, status={}, cursor={}, size={}", memberCode, status, cursor, size);
+        try {
+            HistoryPageDto page = historyService.getTransactionHistoryPage(memberCode, status, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+        }
+    }
+
+    // ✅ 전체 내역 스트리밍 (JSON 배열을 한 행씩 출력)
+    @GetMapping(value = "/{memberCode}/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHistory(@PathVariable String memberCode,
+            @RequestParam(required = false) String status) {
+        log.info("스트리밍 조회: memberCode={}, status={}", memberCode, status);
+        StreamingResponseBody body = out -> historyService.streamTransactionHistory(memberCode, status, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @PutMapping("/cancel")
     public ResponseEntity<Map<String, Object>> cancelReservation(
             @RequestBody com.hulahoop.blueback.history.model.dto.CancellationRequest request) {
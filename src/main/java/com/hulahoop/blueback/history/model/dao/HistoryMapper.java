@@ -3,7 +3,9 @@ package com.hulahoop.blueback.history.model.dao;
 import com.hulahoop.blueback.history.model.dto.HistoryResponseDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
@@ -11,9 +13,25 @@ public interface HistoryMapper {
     List<HistoryResponseDto> findHistoryByMemberCode(@Param("memberCode") String memberCode,
             @Param("status") String status);
 
+    // ✅ keyset 페이지 조회 (afterPaymentAt/afterTransactionNum 이 null 이면 첫 페이지)
+    List<HistoryResponseDto> findHistoryPage(@Param("memberCode") String memberCode,
+            @Param("status") String status,
+            @Param("afterPaymentAt") LocalDateTime afterPaymentAt,
+            @Param("afterTransactionNum") Long afterTransactionNum,
+            @Param("limit") int limit);
+
+    // ✅ 전체 내역 스트리밍 (트랜잭션 안에서 끝까지 읽어야 함)
+    Cursor<HistoryResponseDto> streamHistoryByMemberCode(@Param("memberCode") String memberCode,
+            @Param("status") String status);
+
     HistoryResponseDto findTransactionByNum(@Param("transactionNum") Long transactionNum);
 
-    int updatePendingToSuccess();
+    // ✅ 시작 시각이 지난 P(대기) 거래를 시작 시각 순으로 최대 limit 건만 S(완료)로 변경
+    int updatePendingToSuccess(@Param("limit") int limit);
+
+    // ✅ 가장 오래 밀린 P 거래가 시작 시각보다 얼마나 늦었는지 (마이크로초, 없으면 null)
+    Long findOldestDuePendingLagMicros();
 
-    List<HistoryResponseDto> findRecentTransactions();
+    // ✅ 다음 P 거래 시작까지 남은 시간 (마이크로초, 없으면 null)
+    Long findMicrosUntilNextPending();
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.hulahoop.blueback.history.model.dto;
+
+import java.util.List;
+
+/**
+ * 거래 내역 한 페이지 (keyset 페이지네이션)
+ * - nextCursor 를 다음 요청의 cursor 로 그대로 넘기면 이어서 조회
+ */
+public class HistoryPageDto {
+
+    private List<HistoryResponseDto> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public HistoryPageDto() {
+    }
+
+    public HistoryPageDto(List<HistoryResponseDto> items, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public List<HistoryResponseDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<HistoryResponseDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+}
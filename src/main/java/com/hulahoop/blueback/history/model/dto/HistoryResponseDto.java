@@ -1,5 +1,7 @@
 package com.hulahoop.blueback.history.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,6 +15,9 @@ public class HistoryResponseDto {
     private String merchantCode;
     private BigDecimal amountUsed;
     private LocalDate paymentDate;
+    // payment_date 컬럼 원래 값 (페이지 cursor 용, 응답에는 포함하지 않음)
+    @JsonIgnore
+    private LocalDateTime paymentAt;
     private String status;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
@@ -95,6 +100,14 @@ public class HistoryResponseDto {
         this.paymentDate = paymentDate;
     }
 
+    public LocalDateTime getPaymentAt() {
+        return paymentAt;
+    }
+
+    public void setPaymentAt(LocalDateTime paymentAt) {
+        this.paymentAt = paymentAt;
+    }
+
     public String getStatus() {
         return status;
     }
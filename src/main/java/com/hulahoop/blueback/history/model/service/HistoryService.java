@@ -1,14 +1,23 @@
 package com.hulahoop.blueback.history.model.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hulahoop.blueback.history.model.dao.HistoryMapper;
+import com.hulahoop.blueback.history.model.dto.HistoryPageDto;
 import com.hulahoop.blueback.history.model.dto.HistoryResponseDto;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,18 +25,86 @@ import java.util.Map;
 @Service
 public class HistoryService {
 
+    // 스트리밍 응답을 이 행 수마다 flush
+    private static final int STREAM_FLUSH_ROWS = 200;
+
     private final HistoryMapper historyMapper;
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${history.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${history.page.max-size:100}")
+    private int maxPageSize;
 
-    public HistoryService(HistoryMapper historyMapper, RestTemplate restTemplate) {
+    public HistoryService(HistoryMapper historyMapper, RestTemplate restTemplate, ObjectMapper objectMapper) {
         this.historyMapper = historyMapper;
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
     }
 
     public List<HistoryResponseDto> getTransactionHistory(String memberCode, String status) {
         return historyMapper.findHistoryByMemberCode(memberCode, status);
     }
 
+    /**
+     * 거래 내역 페이지 조회 (payment_date, transaction_num 기준 keyset)
+     * - cursor 는 "payment_date 원래 값(초 이하 포함)_transaction_num"
+     *   (응답의 paymentDate 는 날짜만 있어서, 그걸로 자르면 같은 날 더 늦은 시각의 거래를 건너뜀)
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size   페이지 크기 (최대 history.page.max-size)
+     */
+    public HistoryPageDto getTransactionHistoryPage(String memberCode, String status, String cursor, Integer size) {
+        int limit = (size == null || size <= 0) ? defaultPageSize : Math.min(size, maxPageSize);
+
+        LocalDateTime afterPaymentAt = null;
+        Long afterTransactionNum = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int sep = cursor.lastIndexOf('_');
+            try {
+                afterPaymentAt = LocalDateTime.parse(cursor.substring(0, sep));
+                afterTransactionNum = Long.parseLong(cursor.substring(sep + 1));
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("잘못된 cursor 입니다: " + cursor);
+            }
+        }
+
+        // 한 건 더 읽어서 다음 페이지 존재 여부 판단
+        List<HistoryResponseDto> rows = historyMapper.findHistoryPage(memberCode, status,
+                afterPaymentAt, afterTransactionNum, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<HistoryResponseDto> items = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            HistoryResponseDto last = items.get(items.size() - 1);
+            nextCursor = last.getPaymentAt() + "_" + last.getTransactionNum();
+        }
+        return new HistoryPageDto(items, nextCursor, hasNext);
+    }
+
+    /**
+     * 거래 내역 전체를 JSON 배열로 바로 출력 (DB 커서로 한 행씩 읽어 씀 → 전체 목록을 메모리에 두지 않음)
+     * - Cursor 는 SqlSession 이 열려 있는 동안만 읽을 수 있으므로 읽기 전용 트랜잭션으로 감쌈
+     */
+    @Transactional(readOnly = true)
+    public void streamTransactionHistory(String memberCode, String status, OutputStream out) throws IOException {
+        try (Cursor<HistoryResponseDto> cursor = historyMapper.streamHistoryByMemberCode(memberCode, status);
+                JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartArray();
+            int rows = 0;
+            for (HistoryResponseDto dto : cursor) {
+                generator.writeObject(dto);
+                if (++rows % STREAM_FLUSH_ROWS == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
     public Map<String, Object> cancelReservation(Long transactionNum) {
         System.out.println("[HistoryService] cancelReservation 진입 - transactionNum: " + transactionNum);
         Map<String, Object> result = new HashMap<>();
@@ -0,0 +1,173 @@
+package com.hulahoop.blueback.kakao.model.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 좌표 검색 결과 캐시 (Kakao Local API 호출 절감)
+ * - 키: 검색 종류 + 정규화된 검색어 (공백 정리, 소문자)
+ * - 최대 개수 초과 시 가장 오래 사용하지 않은 항목부터 제거 (LRU)
+ * - 결과가 없던 검색어도 짧은 TTL 로 저장하여 같은 실패 검색을 반복하지 않음
+ *   (loader 가 예외를 던진 호출 실패는 저장하지 않음 → 장애가 끝나면 바로 다시 조회)
+ * - 같은 키를 동시에 조회하면 첫 요청만 loader 를 호출하고 나머지는 그 결과를 기다림 (single-flight)
+ */
+@Component
+public class GeocodeCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private record Entry(double[] coord, long expiresAt) {
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+
+    private final AtomicLong evictions = new AtomicLong();
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<double[]>> loading = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public GeocodeCache(MeterRegistry meterRegistry,
+            @Value("${kakao.geocode.cache.max-size:5000}") int maxSize,
+            @Value("${kakao.geocode.cache.ttl:7d}") Duration ttl,
+            @Value("${kakao.geocode.cache.negative-ttl:10m}") Duration negativeTtl) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.negativeTtlMillis = negativeTtl.toMillis();
+
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > GeocodeCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("kakao.geocode.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.negativeHits = Counter.builder("kakao.geocode.cache.requests").tag("result", "negative_hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("kakao.geocode.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder("kakao.geocode.cache.requests").tag("result", "coalesced")
+                .register(meterRegistry);
+        FunctionCounter.builder("kakao.geocode.cache.evictions", evictions, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("kakao.geocode.cache.size", this, GeocodeCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader 로 검색 후 저장
+     *
+     * @param kind   검색 종류 (같은 검색어라도 검색 방식이 다르면 별도 저장)
+     * @param query  검색어
+     * @param loader 실제 Kakao API 검색 (결과 없으면 null, 호출 실패면 예외)
+     * @return [lat, lng] 또는 null (결과 없음)
+     * @throws RuntimeException loader 가 던진 예외 (캐시되지 않음, 함께 기다리던 요청에도 전달)
+     */
+    public double[] get(String kind, String query, Function<String, double[]> loader) {
+        String key = key(kind, query);
+
+        Entry cached = lookup(key, true);
+        if (cached != null) {
+            return cached.coord();
+        }
+
+        CompletableFuture<double[]> mine = new CompletableFuture<>();
+        CompletableFuture<double[]> running = loading.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        try {
+            // 조회와 등록 사이에 다른 요청이 적재를 끝냈을 수 있음
+            cached = lookup(key, false);
+            if (cached != null) {
+                mine.complete(cached.coord());
+                return cached.coord();
+            }
+
+            // HTTP 호출은 잠금 밖에서 수행
+            misses.increment();
+            double[] coord = loader.apply(query);
+            put(key, coord, System.currentTimeMillis());
+            mine.complete(coord);
+            return coord;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private synchronized Entry lookup(String key, boolean count) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAt() <= System.currentTimeMillis()) {
+            return null;
+        }
+        if (count) {
+            (entry.coord() == null ? negativeHits : hits).increment();
+        }
+        return entry;
+    }
+
+    private static double[] await(CompletableFuture<double[]> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 영구 저장소에서 읽은 좌표를 미리 채움 (키는 {@link #key(String, String)} 형식)
+     */
+    public synchronized void preload(String key, double[] coord) {
+        entries.put(key, new Entry(coord, System.currentTimeMillis() + ttlMillis));
+    }
+
+    private synchronized void put(String key, double[] coord, long now) {
+        long ttl = coord != null ? ttlMillis : negativeTtlMillis;
+        entries.put(key, new Entry(coord, now + ttl));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    static String key(String kind, String query) {
+        return kind + "|" + normalize(query);
+    }
+
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(query.trim()).replaceAll(" ").toLowerCase();
+    }
+}
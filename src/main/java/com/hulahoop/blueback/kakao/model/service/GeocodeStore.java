@@ -0,0 +1,153 @@
+package com.hulahoop.blueback.kakao.model.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 좌표 검색 결과 영구 저장소 (append-only 로그)
+ * - 한 줄에 하나: {캐시 키}\t{lat}\t{lng}
+ * - 시작 시 전체를 읽어 GeocodeCache 를 미리 채움 → 재배포 직후에도 Kakao 호출이 몰리지 않음
+ * - 새로 찾은 좌표는 파일 끝에 추가, 같은 키가 여러 번 쌓이면 시작 시 한 번 정리(compaction)
+ * - classpath:geocode/seed.tsv 가 있으면 같은 형식으로 함께 읽음 (영화관 지점/역 좌표 사전 등록용)
+ */
+@Component
+public class GeocodeStore {
+
+    private static final Logger log = LoggerFactory.getLogger(GeocodeStore.class);
+    private static final String SEED_RESOURCE = "geocode/seed.tsv";
+
+    private final Path path;
+    private final boolean enabled;
+    private BufferedWriter writer;
+
+    public GeocodeStore(@Value("${kakao.geocode.store.path:data/geocode-store.tsv}") String path,
+            @Value("${kakao.geocode.store.enabled:true}") boolean enabled) {
+        this.path = Path.of(path);
+        this.enabled = enabled;
+    }
+
+    /**
+     * 시드 파일 + 저장 파일을 읽어 키별 최신 좌표 반환
+     */
+    public synchronized Map<String, double[]> load() {
+        Map<String, double[]> entries = new LinkedHashMap<>();
+        if (!enabled) {
+            return entries;
+        }
+
+        ClassPathResource seed = new ClassPathResource(SEED_RESOURCE);
+        if (seed.exists()) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(seed.getInputStream(), StandardCharsets.UTF_8))) {
+                readInto(reader, entries);
+            } catch (IOException e) {
+                log.warn("❌ 좌표 시드 파일 읽기 실패: {}", e.getMessage());
+            }
+        }
+
+        int lines = 0;
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                lines = readInto(reader, entries);
+            } catch (IOException e) {
+                log.warn("❌ 좌표 저장 파일 읽기 실패: {} ({})", path, e.getMessage());
+            }
+        }
+
+        // 중복 키가 절반 이상이면 최신 값만 남기도록 다시 씀
+        if (lines > 0 && lines > entries.size() * 2) {
+            compact(entries);
+        }
+
+        log.info("📦 좌표 저장소 로드: {}건 ({})", entries.size(), path);
+        return entries;
+    }
+
+    /**
+     * 새로 찾은 좌표 추가 (실패해도 서비스 동작에는 영향 없음)
+     */
+    public synchronized void append(String key, double[] coord) {
+        if (!enabled || coord == null || key.indexOf('\t') >= 0 || key.indexOf('\n') >= 0) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                Path parent = path.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(line(key, coord));
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("❌ 좌표 저장 실패: {} ({})", key, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+            }
+            writer = null;
+        }
+    }
+
+    private int readInto(BufferedReader reader, Map<String, double[]> entries) throws IOException {
+        int lines = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] cols = line.split("\t");
+            if (cols.length != 3) {
+                continue; // 마지막 줄이 중간에 잘린 경우 등
+            }
+            try {
+                entries.put(cols[0], new double[] { Double.parseDouble(cols[1]), Double.parseDouble(cols[2]) });
+                lines++;
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return lines;
+    }
+
+    private void compact(Map<String, double[]> entries) {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, double[]> e : entries.entrySet()) {
+                out.write(line(e.getKey(), e.getValue()));
+            }
+        } catch (IOException e) {
+            log.warn("❌ 좌표 저장소 정리 실패: {}", e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("❌ 좌표 저장소 교체 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String line(String key, double[] coord) {
+        return key + "\t" + coord[0] + "\t" + coord[1] + "\n";
+    }
+}
@@ -1,26 +1,86 @@
 package com.hulahoop.blueback.kakao.model.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.net.http.HttpClient;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 @Service
 public class KakaoLocalService {
 
+    private static final Logger log = LoggerFactory.getLogger(KakaoLocalService.class);
+
     @Value("${kakao.rest.api.key}")
     private String kakaoApiKeyRaw;
 
     private String kakaoApiKey;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final GeocodeCache geocodeCache;
+    private final GeocodeStore geocodeStore;
+    private final MeterRegistry meterRegistry;
+
+    // 좌표 검색 방식: sequential(주소 → 키워드 → 역 순차) / parallel(동시 요청 후 우선순위 높은 결과 채택)
+    private final boolean parallelLookup;
+    private final ExecutorService lookupExecutor;
+    private final Map<String, Counter> winCounters = new ConcurrentHashMap<>();
+
+    public KakaoLocalService(GeocodeCache geocodeCache,
+            GeocodeStore geocodeStore,
+            MeterRegistry meterRegistry,
+            @Value("${kakao.geocode.lookup-mode:sequential}") String lookupMode,
+            @Value("${kakao.geocode.lookup-threads:8}") int lookupThreads,
+            @Value("${kakao.api.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${kakao.api.read-timeout:3s}") Duration readTimeout) {
+        // JDK HttpClient 기반: 타임아웃이 지나거나 호출 스레드가 인터럽트되면 진행 중인 요청 자체를 취소
+        // (병렬 검색에서 채택되지 않은 요청을 cancel(true) 하면 실제 HTTP 교환도 중단되어 쿼터를 쓰지 않음)
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .build());
+        requestFactory.setReadTimeout(readTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+
+        this.geocodeCache = geocodeCache;
+        this.geocodeStore = geocodeStore;
+        this.meterRegistry = meterRegistry;
+        this.parallelLookup = "parallel".equalsIgnoreCase(lookupMode);
+
+        AtomicInteger seq = new AtomicInteger();
+        this.lookupExecutor = parallelLookup
+                ? Executors.newFixedThreadPool(lookupThreads, r -> {
+                    Thread t = new Thread(r, "kakao-lookup-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                })
+                : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (lookupExecutor != null) {
+            lookupExecutor.shutdownNow();
+        }
+    }
 
     @PostConstruct
     public void init() {
@@ -32,10 +92,28 @@ public class KakaoLocalService {
         }
         // 보안상 키 전체 출력보다는 일부만 출력하거나 생략하는 것이 좋습니다.
         System.out.println("🔑 Kakao API Key Loaded (Length: " + kakaoApiKey.length() + ")");
+
+        // 이전 실행에서 찾아 둔 좌표로 캐시를 미리 채움 (재시작 직후 Kakao 호출 폭주 방지)
+        geocodeStore.load().forEach(geocodeCache::preload);
+    }
+
+    /**
+     * 캐시 → (없으면) Kakao 검색 → 찾은 좌표는 영구 저장소에도 기록
+     * - loader 가 null 을 반환하면 "결과 없음"으로 짧게 캐시
+     * - KakaoApiException(호출 실패/429 등)은 캐시하지 않고 그대로 전달
+     */
+    private double[] cachedLookup(String kind, String query, Function<String, double[]> loader) {
+        return geocodeCache.get(kind, query, q -> {
+            double[] coord = loader.apply(q);
+            if (coord != null) {
+                geocodeStore.append(GeocodeCache.key(kind, q), coord);
+            }
+            return coord;
+        });
     }
 
     // =========================================================
-    // 0. 주소 전처리 및 키워드 추출
+    // 0. 주소 전처리
     // =========================================================
     private String normalizeAddress(String address) {
         if (address == null)
@@ -49,23 +127,24 @@ public class KakaoLocalService {
         return q.length() > 100 ? q.substring(0, 100) : q;
     }
 
-    public String extractPlaceKeyword(String input) {
-        if (input == null)
-            return null;
-        String regex = "(\\S+역)|(\\S+동)|(\\S+구)|(\\S+시)";
-        Matcher m = Pattern.compile(regex).matcher(input);
-        return m.find() ? m.group() : null;
-    }
-
     // =========================================================
     // 1. 공통 API 호출 메서드 (수정됨: URI 객체 수신, 헤더 정리)
     // =========================================================
+    /**
+     * Kakao API 호출 실패 (키 없음, 네트워크 오류, 4xx/5xx, 응답 형식 오류)
+     * — "검색 결과 없음"과 구분해서 음성 캐시에 남기지 않기 위함
+     */
+    static final class KakaoApiException extends RuntimeException {
+        KakaoApiException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
     private ResponseEntity<Map> callKakaoAPI(URI uri) {
+        if (kakaoApiKey == null || kakaoApiKey.isBlank()) {
+            throw new KakaoApiException("Kakao API Key is NULL or BLANK", null);
+        }
         try {
-            if (kakaoApiKey == null || kakaoApiKey.isBlank()) {
-                System.out.println("❌ Kakao API Key is NULL or BLANK");
-                return null;
-            }
 
             HttpHeaders headers = new HttpHeaders();
             headers.set("Authorization", "KakaoAK " + kakaoApiKey);
@@ -87,7 +166,30 @@ public class KakaoLocalService {
 
         } catch (Exception e) {
             System.out.println("❌ Kakao API Call Error → " + e.getMessage());
-            return null;
+            throw new KakaoApiException("Kakao API 호출 실패: " + uri.getPath(), e);
+        }
+    }
+
+    /**
+     * 응답의 첫 번째 문서 좌표 [lat, lng] (문서가 없으면 null = 결과 없음)
+     */
+    @SuppressWarnings("unchecked")
+    private double[] firstDocumentCoord(ResponseEntity<Map> response, String kind) {
+        if (response.getBody() == null) {
+            throw new KakaoApiException(kind + " 응답 본문 없음", null);
+        }
+        try {
+            List<Map<String, Object>> docs = (List<Map<String, Object>>) response.getBody().get("documents");
+            if (docs == null || docs.isEmpty()) {
+                return null;
+            }
+            Map<String, Object> doc = docs.get(0);
+            return new double[] {
+                    Double.parseDouble(doc.get("y").toString()),
+                    Double.parseDouble(doc.get("x").toString())
+            };
+        } catch (RuntimeException e) {
+            throw new KakaoApiException(kind + " 응답 파싱 오류", e);
         }
     }
 
@@ -95,104 +197,53 @@ public class KakaoLocalService {
     // 2. 주소 검색 API
     // =========================================================
     private double[] searchByAddressAPI(String input) {
-        try {
-            if (input == null || input.isBlank())
-                return null;
-
-            // UriComponentsBuilder가 인코딩을 자동으로 처리합니다.
-            URI uri = UriComponentsBuilder
-                    .fromUriString("https://dapi.kakao.com/v2/local/search/address.json")
-                    .queryParam("query", trimQueryLength(input))
-                    .encode(StandardCharsets.UTF_8) // UTF-8로 안전하게 인코딩
-                    .build()
-                    .toUri();
-
-            ResponseEntity<Map> response = callKakaoAPI(uri);
-            if (response == null || response.getBody() == null)
-                return null;
+        if (input == null || input.isBlank())
+            return null;
 
-            List<Map<String, Object>> docs = (List<Map<String, Object>>) response.getBody().get("documents");
+        // UriComponentsBuilder가 인코딩을 자동으로 처리합니다.
+        URI uri = UriComponentsBuilder
+                .fromUriString("https://dapi.kakao.com/v2/local/search/address.json")
+                .queryParam("query", trimQueryLength(input))
+                .encode(StandardCharsets.UTF_8) // UTF-8로 안전하게 인코딩
+                .build()
+                .toUri();
 
-            if (docs != null && !docs.isEmpty()) {
-                Map<String, Object> doc = docs.get(0);
-                return new double[] {
-                        Double.parseDouble(doc.get("y").toString()),
-                        Double.parseDouble(doc.get("x").toString())
-                };
-            }
-        } catch (Exception e) {
-            System.out.println("❌ 주소 API 파싱 오류 → " + e.getMessage());
-        }
-        return null;
+        return firstDocumentCoord(callKakaoAPI(uri), "주소 검색");
     }
 
     // =========================================================
     // 3. 키워드 검색 API
     // =========================================================
     private double[] searchByKeywordAPI(String input) {
-        try {
-            if (input == null || input.isBlank())
-                return null;
-
-            URI uri = UriComponentsBuilder
-                    .fromUriString("https://dapi.kakao.com/v2/local/search/keyword.json")
-                    .queryParam("query", trimQueryLength(input))
-                    .encode(StandardCharsets.UTF_8)
-                    .build()
-                    .toUri();
-
-            ResponseEntity<Map> response = callKakaoAPI(uri);
-            if (response == null || response.getBody() == null)
-                return null;
+        if (input == null || input.isBlank())
+            return null;
 
-            List<Map<String, Object>> docs = (List<Map<String, Object>>) response.getBody().get("documents");
+        URI uri = UriComponentsBuilder
+                .fromUriString("https://dapi.kakao.com/v2/local/search/keyword.json")
+                .queryParam("query", trimQueryLength(input))
+                .encode(StandardCharsets.UTF_8)
+                .build()
+                .toUri();
 
-            if (docs != null && !docs.isEmpty()) {
-                Map<String, Object> doc = docs.get(0);
-                return new double[] {
-                        Double.parseDouble(doc.get("y").toString()),
-                        Double.parseDouble(doc.get("x").toString())
-                };
-            }
-        } catch (Exception e) {
-            System.out.println("❌ 키워드 API 파싱 오류 → " + e.getMessage());
-        }
-        return null;
+        return firstDocumentCoord(callKakaoAPI(uri), "키워드 검색");
     }
 
     // =========================================================
     // 4. 역 검색 (지하철)
     // =========================================================
     private double[] searchStationAPI(String keyword) {
-        try {
-            if (keyword == null || keyword.isBlank())
-                return null;
-
-            URI uri = UriComponentsBuilder
-                    .fromUriString("https://dapi.kakao.com/v2/local/search/keyword.json")
-                    .queryParam("query", trimQueryLength(keyword))
-                    .queryParam("category_group_code", "SW8") // 지하철역 코드
-                    .encode(StandardCharsets.UTF_8)
-                    .build()
-                    .toUri();
-
-            ResponseEntity<Map> response = callKakaoAPI(uri);
-            if (response == null || response.getBody() == null)
-                return null;
+        if (keyword == null || keyword.isBlank())
+            return null;
 
-            List<Map<String, Object>> docs = (List<Map<String, Object>>) response.getBody().get("documents");
+        URI uri = UriComponentsBuilder
+                .fromUriString("https://dapi.kakao.com/v2/local/search/keyword.json")
+                .queryParam("query", trimQueryLength(keyword))
+                .queryParam("category_group_code", "SW8") // 지하철역 코드
+                .encode(StandardCharsets.UTF_8)
+                .build()
+                .toUri();
 
-            if (docs != null && !docs.isEmpty()) {
-                Map<String, Object> doc = docs.get(0);
-                return new double[] {
-                        Double.parseDouble(doc.get("y").toString()),
-                        Double.parseDouble(doc.get("x").toString())
-                };
-            }
-        } catch (Exception e) {
-            System.out.println("❌ 역 검색 파싱 오류 → " + e.getMessage());
-        }
-        return null;
+        return firstDocumentCoord(callKakaoAPI(uri), "역 검색");
     }
 
     // =========================================================
@@ -205,35 +256,150 @@ public class KakaoLocalService {
         System.out.println("\n⭐ 좌표 검색 시작: " + input);
 
         String normalized = normalizeAddress(input);
-        double[] coord;
+        if (normalized.isBlank())
+            return null;
 
-        // 1) 주소 검색 시도
-        coord = searchByAddressAPI(normalized);
-        if (coord != null) {
-            System.out.println("✅ 주소 검색 성공");
-            return makeCoordMap(coord);
+        // 캐시 우선 조회 (결과 없음도 캐시됨, 호출 실패는 캐시 안 됨)
+        double[] coord;
+        try {
+            coord = cachedLookup("coord", normalized, this::resolveCoordinate);
+        } catch (KakaoApiException e) {
+            log.warn("❌ 좌표 검색 실패 (캐시 안 함): {} → {}", normalized, e.getMessage());
+            return null;
         }
+        return coord != null ? makeCoordMap(coord) : null;
+    }
 
-        // 2) 키워드 검색 시도
-        coord = searchByKeywordAPI(normalized);
-        if (coord != null) {
-            System.out.println("✅ 키워드 검색 성공");
-            return makeCoordMap(coord);
-        }
+    // 좌표 검색 후보 (우선순위 순)
+    private record LookupStrategy(String name, Function<String, double[]> search) {
+    }
 
-        // 3) '역'으로 끝난다면 지하철역 검색 시도
+    private List<LookupStrategy> lookupStrategies(String normalized) {
+        List<LookupStrategy> strategies = new ArrayList<>(3);
+        strategies.add(new LookupStrategy("address", this::searchByAddressAPI)); // 1) 주소 검색
+        strategies.add(new LookupStrategy("keyword", this::searchByKeywordAPI)); // 2) 키워드 검색
         if (normalized.endsWith("역")) {
-            coord = searchStationAPI(normalized);
+            strategies.add(new LookupStrategy("station", this::searchStationAPI)); // 3) 지하철역 검색
+        }
+        return strategies;
+    }
+
+    private double[] resolveCoordinate(String normalized) {
+        List<LookupStrategy> strategies = lookupStrategies(normalized);
+        return parallelLookup
+                ? resolveCoordinateParallel(normalized, strategies)
+                : resolveCoordinateSequential(normalized, strategies);
+    }
+
+    private double[] resolveCoordinateSequential(String normalized, List<LookupStrategy> strategies) {
+        KakaoApiException failure = null;
+        for (LookupStrategy strategy : strategies) {
+            double[] coord;
+            try {
+                coord = strategy.search().apply(normalized);
+            } catch (KakaoApiException e) {
+                failure = e; // 다음 방식은 계속 시도
+                continue;
+            }
             if (coord != null) {
-                System.out.println("✅ 지하철역 검색 성공");
-                return makeCoordMap(coord);
+                System.out.println("✅ " + strategy.name() + " 검색 성공");
+                recordWin(strategy.name());
+                return coord;
             }
         }
 
+        return notFound(failure);
+    }
+
+    /**
+     * 모든 방식이 결과를 못 냄 — 하나라도 호출 실패였다면 "결과 없음"으로 확정하지 않고 예외로 전달
+     */
+    private double[] notFound(KakaoApiException failure) {
+        if (failure != null) {
+            recordWin("error");
+            throw failure;
+        }
         System.out.println("❌ 좌표 검색 최종 실패");
+        recordWin("none");
         return null;
     }
 
+    /**
+     * 후보 검색을 동시에 요청하고, 우선순위가 가장 높은 성공 결과를 채택
+     * (채택되면 남은 요청은 취소 — 아직 시작 전이면 실행되지 않고, 진행 중이면 HTTP 요청이 중단됨)
+     */
+    private double[] resolveCoordinateParallel(String normalized, List<LookupStrategy> strategies) {
+        List<Future<double[]>> futures = new ArrayList<>(strategies.size());
+        for (LookupStrategy strategy : strategies) {
+            futures.add(lookupExecutor.submit(() -> strategy.search().apply(normalized)));
+        }
+
+        KakaoApiException failure = null;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                double[] coord;
+                try {
+                    coord = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    failure = e.getCause() instanceof KakaoApiException k ? k
+                            : new KakaoApiException("좌표 검색 오류", e.getCause());
+                    coord = null;
+                }
+                if (coord != null) {
+                    System.out.println("✅ " + strategies.get(i).name() + " 검색 성공 (병렬)");
+                    recordWin(strategies.get(i).name());
+                    return coord;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new KakaoApiException("좌표 검색 중단", e);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+
+        return notFound(failure);
+    }
+
+    /**
+     * 영화관 주소 → 좌표 (주소 검색 실패 시 키워드로 재시도, 주소는 거의 바뀌지 않으므로 캐시 사용)
+     * - Kakao 호출 실패면 null (캐시하지 않으므로 다음 조회에서 다시 시도)
+     */
+    private double[] cinemaCoordinate(String address) {
+        try {
+            return cachedLookup("address", address, a -> {
+                KakaoApiException failure = null;
+                for (Function<String, double[]> search : List.<Function<String, double[]>>of(
+                        this::searchByAddressAPI, this::searchByKeywordAPI)) {
+                    try {
+                        double[] coord = search.apply(a);
+                        if (coord != null) {
+                            return coord;
+                        }
+                    } catch (KakaoApiException e) {
+                        failure = e;
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                return null;
+            });
+        } catch (KakaoApiException e) {
+            log.warn("❌ 영화관 좌표 검색 실패 (캐시 안 함): {} → {}", address, e.getMessage());
+            return null;
+        }
+    }
+
+    private void recordWin(String strategy) {
+        winCounters.computeIfAbsent(strategy, s -> Counter.builder("kakao.geocode.lookup.wins")
+                .description("좌표 검색에서 결과를 낸 검색 방식")
+                .tag("strategy", s)
+                .tag("mode", parallelLookup ? "parallel" : "sequential")
+                .register(meterRegistry))
+                .increment();
+    }
+
     private Map<String, Object> makeCoordMap(double[] c) {
         Map<String, Object> map = new HashMap<>();
         map.put("lat", c[0]);
@@ -243,88 +409,116 @@ public class KakaoLocalService {
     }
 
     // =========================================================
-    // 6. 거리 계산 및 정렬
+    // 6. 거리 계산
     // =========================================================
     public double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        double R = 6371; // 지구 반지름 (km)
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1))
-                        * Math.cos(Math.toRadians(lat2))
-                        * Math.sin(dLon / 2)
-                        * Math.sin(dLon / 2);
-        return R * (2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a)));
+        return NearestK.haversine(lat1, lon1, lat2, lon2);
+    }
+
+    // =========================================================
+    // 7. 가까운 N개 조회 (한 번 훑으며 가까운 N개만 유지, 전체 정렬 없음)
+    // =========================================================
+    private static final double UNKNOWN_DISTANCE = 9999.0;
+
+    /**
+     * 기준 좌표에서 가까운 자전거 limit 개 (가까운 순)
+     */
+    public List<Map<String, Object>> nearestBikes(
+            Map<String, Object> basisCoord,
+            List<Map<String, Object>> bikes,
+            int limit) {
+        if (bikes == null || bikes.isEmpty()) {
+            return bikes;
+        }
+        if (basisCoord == null) {
+            return new ArrayList<>(bikes.subList(0, Math.min(limit, bikes.size())));
+        }
+
+        NearestK<Map<String, Object>> nearest = new NearestK<>(
+                (double) basisCoord.get("lat"), (double) basisCoord.get("lng"), limit);
+        List<Map<String, Object>> unknown = new ArrayList<>();
+
+        for (Map<String, Object> bike : bikes) {
+            Double lat = toDouble(bike.get("latitude"));
+            Double lng = toDouble(bike.get("longitude"));
+            if (lat == null || lng == null) {
+                unknown.add(bike);
+            } else {
+                nearest.offer(bike, lat, lng);
+            }
+        }
+
+        return withDistances(nearest, unknown, limit);
     }
 
-    public List<Map<String, Object>> sortCinemasByDistance(
+    /**
+     * 기준 좌표에서 가까운 영화관 limit 개 (가까운 순, 지도 표시용 좌표 포함)
+     */
+    public List<Map<String, Object>> nearestCinemas(
             Map<String, Object> basisCoord,
-            List<Map<String, Object>> cinemas) {
-        if (basisCoord == null || cinemas == null || cinemas.isEmpty()) {
+            List<Map<String, Object>> cinemas,
+            int limit) {
+        if (cinemas == null || cinemas.isEmpty()) {
             return cinemas;
         }
+        if (basisCoord == null) {
+            return new ArrayList<>(cinemas.subList(0, Math.min(limit, cinemas.size())));
+        }
 
-        double userLat = (double) basisCoord.get("lat");
-        double userLng = (double) basisCoord.get("lng");
+        NearestK<Map<String, Object>> nearest = new NearestK<>(
+                (double) basisCoord.get("lat"), (double) basisCoord.get("lng"), limit);
+        List<Map<String, Object>> unknown = new ArrayList<>();
 
         for (Map<String, Object> cinema : cinemas) {
             String address = String.valueOf(cinema.get("address"));
-
-            // 영화관 주소도 좌표로 변환 (캐싱 고려 권장)
-            double[] cinemaCoord = Optional.ofNullable(searchByAddressAPI(address))
-                    .orElseGet(() -> searchByKeywordAPI(address)); // 주소 실패시 키워드로 재시도
+            double[] cinemaCoord = cinemaCoordinate(address);
 
             if (cinemaCoord == null) {
-                cinema.put("distance", 9999.0); // 못 찾으면 아주 먼 거리로 설정
+                unknown.add(cinema);
                 continue;
             }
 
-            double dist = calculateDistance(userLat, userLng, cinemaCoord[0], cinemaCoord[1]);
-            cinema.put("distance", Math.round(dist * 100) / 100.0); // 소수점 2자리 반올림
-
             // ✅ 좌표를 cinema 객체에 추가 (지도 표시용)
             cinema.put("latitude", cinemaCoord[0]);
             cinema.put("longitude", cinemaCoord[1]);
+            nearest.offer(cinema, cinemaCoord[0], cinemaCoord[1]);
         }
 
-        cinemas.sort(Comparator.comparingDouble(
-                c -> Double.parseDouble(c.get("distance").toString())));
-
-        return cinemas;
+        return withDistances(nearest, unknown, limit);
     }
 
-    public List<Map<String, Object>> sortBikesByDistance(
-            Map<String, Object> basisCoord,
-            List<Map<String, Object>> bikes) {
-        if (basisCoord == null || bikes == null || bikes.isEmpty()) {
-            return bikes;
+    private List<Map<String, Object>> withDistances(
+            NearestK<Map<String, Object>> nearest,
+            List<Map<String, Object>> unknown,
+            int limit) {
+        List<Map<String, Object>> result = new ArrayList<>(limit);
+        for (NearestK.Hit<Map<String, Object>> hit : nearest.sorted()) {
+            hit.item().put("distance", Math.round(hit.distanceKm() * 100) / 100.0); // 소수점 2자리 반올림
+            result.add(hit.item());
         }
 
-        double userLat = (double) basisCoord.get("lat");
-        double userLng = (double) basisCoord.get("lng");
-
-        for (Map<String, Object> bike : bikes) {
-            // 자전거는 이미 latitude, longitude 필드를 가지고 있음
-            Object latObj = bike.get("latitude");
-            Object lngObj = bike.get("longitude");
-
-            if (latObj == null || lngObj == null) {
-                bike.put("distance", 9999.0);
-                continue;
+        // 좌표를 모르는 항목은 아주 먼 거리로 뒤에 붙임
+        for (Map<String, Object> item : unknown) {
+            if (result.size() >= limit) {
+                break;
             }
-
-            double bikeLat = (latObj instanceof Number) ? ((Number) latObj).doubleValue()
-                    : Double.parseDouble(latObj.toString());
-            double bikeLng = (lngObj instanceof Number) ? ((Number) lngObj).doubleValue()
-                    : Double.parseDouble(lngObj.toString());
-
-            double dist = calculateDistance(userLat, userLng, bikeLat, bikeLng);
-            bike.put("distance", Math.round(dist * 100) / 100.0);
+            item.put("distance", UNKNOWN_DISTANCE);
+            result.add(item);
         }
+        return result;
+    }
 
-        bikes.sort(Comparator.comparingDouble(
-                b -> Double.parseDouble(b.get("distance").toString())));
-
-        return bikes;
+    private static Double toDouble(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number n) {
+            return n.doubleValue();
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
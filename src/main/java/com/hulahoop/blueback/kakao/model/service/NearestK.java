@@ -0,0 +1,68 @@
+package com.hulahoop.blueback.kakao.model.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 기준점에서 가까운 K개 선택 (전체 정렬 없음)
+ * - 후보를 한 번 훑으며 크기 K 의 최대 힙만 유지 → O(n log K)
+ * - 후보 목록은 요청마다 게이트웨이에서 새로 받으므로 공간 인덱스를 만들지 않음
+ *   (요청마다 인덱스를 만들면 그 자체가 O(n) 이고 할당만 늘어남)
+ */
+final class NearestK<T> {
+
+    static final double EARTH_RADIUS_KM = 6371; // 지구 반지름 (km)
+
+    /** 선택 결과 (항목 + 거리 km) */
+    record Hit<T>(T item, double distanceKm) {
+    }
+
+    private final int k;
+    private final double lat;
+    private final double lng;
+
+    // 가장 먼 후보가 맨 앞에 오는 최대 힙
+    private final PriorityQueue<Hit<T>> best;
+
+    NearestK(double lat, double lng, int k) {
+        this.k = k;
+        this.lat = lat;
+        this.lng = lng;
+        this.best = new PriorityQueue<>(Math.max(k, 1) + 1,
+                (a, b) -> Double.compare(b.distanceKm(), a.distanceKm()));
+    }
+
+    void offer(T item, double itemLat, double itemLng) {
+        if (k <= 0) {
+            return;
+        }
+        double d = haversine(lat, lng, itemLat, itemLng);
+        if (best.size() < k) {
+            best.add(new Hit<>(item, d));
+        } else if (d < best.peek().distanceKm()) {
+            best.poll();
+            best.add(new Hit<>(item, d));
+        }
+    }
+
+    /**
+     * 가까운 순서로 정렬된 결과 (최대 K개)
+     */
+    List<Hit<T>> sorted() {
+        List<Hit<T>> result = new ArrayList<>(best);
+        result.sort((a, b) -> Double.compare(a.distanceKm(), b.distanceKm()));
+        return result;
+    }
+
+    static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1))
+                        * Math.cos(Math.toRadians(lat2))
+                        * Math.sin(dLon / 2)
+                        * Math.sin(dLon / 2);
+        return EARTH_RADIUS_KM * (2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a)));
+    }
+}
@@ -0,0 +1,213 @@
+package com.hulahoop.blueback.member.model.service;
+
+import com.hulahoop.blueback.member.model.dao.UserMapper;
+import com.hulahoop.blueback.member.model.dto.MemberDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 회원 조회 캐시 (UserMapper.findById 앞단)
+ * - 1차: 같은 채팅 턴 / 같은 HTTP 요청 안에서는 한 번만 조회 (요청 단위 중복 제거)
+ * - 2차: 짧은 TTL 의 공유 캐시 (연속된 턴 사이의 반복 조회 흡수)
+ * - 회원 정보 변경(MemberService) 시 invalidate 로 즉시 제거
+ *   (invalidate 마다 세대 번호를 올리고, DB 조회 도중 세대가 바뀌었으면 그 결과는 공유 캐시에 넣지 않음
+ *    → 변경 전에 시작된 조회가 옛 회원 정보를 TTL 동안 되살리지 않음)
+ * - 조회 결과는 읽기 전용으로 사용 (비밀번호 확인/로그인처럼 최신 값이 필요한 곳은 UserMapper 직접 사용)
+ */
+@Service
+public class MemberLookupService {
+
+    private static final String REQUEST_ATTRIBUTE = MemberLookupService.class.getName() + ".members";
+
+    private record Entry(MemberDTO member, long expiresAt) {
+    }
+
+    /** 채팅 턴 하나의 조회 기록 */
+    private static final class Turn {
+        final Map<String, Optional<MemberDTO>> members = new HashMap<>();
+        int dbQueries;
+    }
+
+    private static final ThreadLocal<Turn> CURRENT_TURN = new ThreadLocal<>();
+
+    private final UserMapper userMapper;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+    // invalidate 호출마다 증가 (this 잠금 안에서만 읽고 씀)
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter dbQueries;
+    private final DistributionSummary dbQueriesPerTurn;
+
+    public MemberLookupService(UserMapper userMapper, MeterRegistry meterRegistry,
+            @Value("${member.cache.ttl:30s}") Duration ttl,
+            @Value("${member.cache.max-size:2000}") int maxSize) {
+        this.userMapper = userMapper;
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > MemberLookupService.this.maxSize;
+            }
+        };
+
+        this.hits = Counter.builder("member.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("member.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.dbQueries = Counter.builder("member.db.queries").register(meterRegistry);
+        this.dbQueriesPerTurn = DistributionSummary.builder("member.db.queries.per.turn")
+                .description("채팅 턴 하나에서 발생한 T_Member 조회 수")
+                .register(meterRegistry);
+        Gauge.builder("member.cache.size", this, MemberLookupService::size).register(meterRegistry);
+    }
+
+    /**
+     * 채팅 턴 하나를 감싸서 실행 (턴 안의 중복 조회 제거 + 턴당 DB 조회 수 기록)
+     */
+    public <T> T inTurn(Supplier<T> body) {
+        if (CURRENT_TURN.get() != null) {
+            return body.get();
+        }
+        Turn turn = new Turn();
+        CURRENT_TURN.set(turn);
+        try {
+            return body.get();
+        } finally {
+            CURRENT_TURN.remove();
+            dbQueriesPerTurn.record(turn.dbQueries);
+        }
+    }
+
+    /**
+     * 아이디로 회원 조회 (없으면 null)
+     */
+    public MemberDTO findById(String id) {
+        if (id == null) {
+            return null;
+        }
+
+        Map<String, Optional<MemberDTO>> local = localMembers();
+        if (local != null) {
+            Optional<MemberDTO> seen = local.get(id);
+            if (seen != null) {
+                hits.increment();
+                return seen.orElse(null);
+            }
+        }
+
+        MemberDTO member = findShared(id);
+        if (local != null) {
+            local.put(id, Optional.ofNullable(member));
+        }
+        return member;
+    }
+
+    private MemberDTO findShared(String id) {
+        long now = System.currentTimeMillis();
+        long readGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(id);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return entry.member();
+            }
+            readGeneration = generation;
+        }
+
+        // DB 조회는 잠금 밖에서 수행
+        misses.increment();
+        dbQueries.increment();
+        Turn turn = CURRENT_TURN.get();
+        if (turn != null) {
+            turn.dbQueries++;
+        }
+
+        MemberDTO member = userMapper.findById(id);
+        if (member != null) {
+            synchronized (this) {
+                // 조회 도중 회원 정보가 바뀌었으면 이 결과는 이미 옛 값일 수 있으므로 캐시하지 않음
+                if (generation == readGeneration) {
+                    entries.put(id, new Entry(member, now + ttlMillis));
+                }
+            }
+        }
+        return member;
+    }
+
+    /**
+     * 회원 정보 변경 시 호출 (회원 코드 기준)
+     */
+    public void invalidateByMemberCode(String memberCode) {
+        if (memberCode == null) {
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            entries.values().removeIf(e -> memberCode.equals(e.member().getMemberCode()));
+        }
+        Map<String, Optional<MemberDTO>> local = localMembers();
+        if (local != null) {
+            local.values().removeIf(m -> m.isPresent() && memberCode.equals(m.get().getMemberCode()));
+        }
+    }
+
+    /**
+     * 회원 정보 변경 시 호출 (아이디 기준)
+     */
+    public void invalidateById(String id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            entries.remove(id);
+        }
+        Map<String, Optional<MemberDTO>> local = localMembers();
+        if (local != null) {
+            local.remove(id);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 현재 채팅 턴 또는 HTTP 요청 범위의 조회 결과 (둘 다 없으면 null)
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Optional<MemberDTO>> localMembers() {
+        Turn turn = CURRENT_TURN.get();
+        if (turn != null) {
+            return turn.members;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object members = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (members == null) {
+            members = new HashMap<String, Optional<MemberDTO>>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, members, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<String, Optional<MemberDTO>>) members;
+    }
+}
@@ -1,22 +1,30 @@
 package com.hulahoop.blueback.member.model.service;
 
+import com.hulahoop.blueback.email.model.service.EmailOutbox;
 import com.hulahoop.blueback.member.model.dao.UserMapper;
 import com.hulahoop.blueback.member.model.dto.MemberDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class MemberService {
 
+    private static final Logger log = LoggerFactory.getLogger(MemberService.class);
+
     private final UserMapper userMapper;
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-    private final JavaMailSender mailSender;
+    private final EmailOutbox emailOutbox;
+    private final MemberLookupService memberLookupService;
 
-    public MemberService(UserMapper userMapper, JavaMailSender mailSender) {
+    public MemberService(UserMapper userMapper, EmailOutbox emailOutbox, MemberLookupService memberLookupService) {
         this.userMapper = userMapper;
-        this.mailSender = mailSender;
+        this.emailOutbox = emailOutbox;
+        this.memberLookupService = memberLookupService;
     }
 
     // ======================================================
@@ -93,6 +101,8 @@ public class MemberService {
         if (result == 0) {
             throw new RuntimeException("회원정보 수정 실패");
         }
+        memberLookupService.invalidateById(dto.getId());
+        memberLookupService.invalidateByMemberCode(dto.getMemberCode());
     }
 
     // ✅ SNS 알림 설정 변경
@@ -101,6 +111,7 @@ public class MemberService {
         if (result == 0) {
             throw new RuntimeException("SNS 알림 설정 변경 실패");
         }
+        memberLookupService.invalidateByMemberCode(memberCode);
     }
 
     // ✅ 회원 탈퇴 (member_yn = 'N' 으로 변경)
@@ -109,6 +120,7 @@ public class MemberService {
         if (result == 0) {
             throw new RuntimeException("회원 탈퇴 실패");
         }
+        memberLookupService.invalidateByMemberCode(memberCode);
     }
 
     public String findIdByNameAndEmail(String name, String email) {
@@ -118,6 +130,7 @@ public class MemberService {
         return member.getId();
     }
 
+    @Transactional
     public void sendTempPassword(String id, String email) {
         MemberDTO member = userMapper.findByIdAndEmail(id, email);
         if (member == null)
@@ -128,13 +141,32 @@ public class MemberService {
 
         // ✅ 비밀번호만 업데이트 (전체 업데이트 X)
         userMapper.updatePassword(member.getMemberCode(), encodedPwd);
+        memberLookupService.invalidateByMemberCode(member.getMemberCode());
+
+        // 대기열이 가득 차 있으면 예외 → 같은 트랜잭션의 비밀번호 변경도 롤백
+        if (!emailOutbox.hasCapacity()) {
+            throw new RuntimeException("메일 발송이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+        }
 
-        // 메일 발송
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("[훌라후프] 임시 비밀번호 발급 안내");
-        message.setText("임시 비밀번호: " + tempPwd + "\n로그인 후 반드시 내 정보에서 비밀번호를 변경해주세요.");
-        mailSender.send(message);
+        // 메일 발송 등록은 커밋 이후에만 (롤백된 비밀번호가 메일로 나가지 않도록)
+        // 임시 비밀번호가 디스크에 남지 않도록 저널 없이 메모리에서만 발송
+        Runnable enqueue = () -> {
+            boolean queued = emailOutbox.enqueueTransient(email, "[훌라후프] 임시 비밀번호 발급 안내",
+                    "임시 비밀번호: " + tempPwd + "\n로그인 후 반드시 내 정보에서 비밀번호를 변경해주세요.", false);
+            if (!queued) {
+                log.warn("❌ 임시 비밀번호 메일 등록 실패 (커밋 후 대기열 가득 참): {}", id);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue.run();
+                }
+            });
+        } else {
+            enqueue.run();
+        }
     }
 
     // ✅ 비밀번호 변경 (마이페이지용)
@@ -151,6 +183,7 @@ public class MemberService {
         // 새 비밀번호 암호화 및 업데이트
         String encodedNewPwd = passwordEncoder.encode(newPwd);
         userMapper.updatePassword(member.getMemberCode(), encodedNewPwd);
+        memberLookupService.invalidateByMemberCode(member.getMemberCode());
     }
 
     private String generateTempPassword() {
@@ -15,7 +15,7 @@ import java.util.List;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
 
     // 공개 허용 경로 목록
     private static final List<String> PUBLIC_PATHS = List.of(
@@ -30,8 +30,8 @@ public class JwtFilter extends OncePerRequestFilter {
             "/api/payments/create",
             "/api/payments/confirm");
 
-    public JwtFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public JwtFilter(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -71,25 +71,17 @@ public class JwtFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
         System.out.println("🔑 [JwtFilter] JWT 토큰 검증 시작...");
 
-        // 토큰 검증
-        if (!jwtUtil.validateToken(token)) {
-            String errorType = jwtUtil.getValidationError(token);
-            System.err.println("❌ [JwtFilter] JWT 검증 실패 - 원인: " + errorType);
+        // 토큰 검증 + 사용자 정보 추출 (이미 검증된 토큰은 캐시에서 바로 반환)
+        JwtVerification verification = tokenCache.verify(token);
+        if (!verification.isValid()) {
+            JwtVerification.Error error = verification.getError();
+            System.err.println("❌ [JwtFilter] JWT 검증 실패 - 원인: " + error);
 
-            String errorMessage = switch (errorType) {
-                case "TOKEN_EXPIRED" -> "토큰이 만료되었습니다. 다시 로그인해주세요.";
-                case "TOKEN_MALFORMED" -> "토큰 형식이 올바르지 않습니다.";
-                case "TOKEN_INVALID_SIGNATURE" -> "토큰 서명이 유효하지 않습니다.";
-                case "TOKEN_EMPTY" -> "토큰이 비어있습니다.";
-                default -> "유효하지 않은 토큰입니다.";
-            };
-
-            sendJsonError(response, HttpServletResponse.SC_UNAUTHORIZED, errorType, errorMessage);
+            sendJsonError(response, HttpServletResponse.SC_UNAUTHORIZED, error.name(), error.getMessage());
             return;
         }
 
-        // 토큰에서 사용자 정보 추출
-        String username = jwtUtil.extractUsername(token);
+        String username = verification.getUsername();
         System.out.println("✅ [JwtFilter] JWT 검증 성공 - 사용자: " + username);
 
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(username,
@@ -21,10 +21,16 @@ public class JwtUtil {
 
     private Key secretKey;
 
+    // 서명 키가 고정이므로 파서도 한 번만 생성 (JwtParser 는 thread-safe)
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         // ✅ Base64 인코딩 제거 (로그인/검증 둘 다 동일하게 사용)
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
     }
 
     // ✅ JWT 생성
@@ -40,13 +46,29 @@ public class JwtUtil {
                 .compact();
     }
 
+    // ✅ JWT 검증 + claims 추출 (한 번만 파싱)
+    public JwtVerification verify(String token) {
+        try {
+            return JwtVerification.valid(parser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException e) {
+            return JwtVerification.invalid(JwtVerification.Error.TOKEN_EXPIRED);
+        } catch (UnsupportedJwtException e) {
+            return JwtVerification.invalid(JwtVerification.Error.TOKEN_UNSUPPORTED);
+        } catch (MalformedJwtException e) {
+            return JwtVerification.invalid(JwtVerification.Error.TOKEN_MALFORMED);
+        } catch (SignatureException e) {
+            return JwtVerification.invalid(JwtVerification.Error.TOKEN_INVALID_SIGNATURE);
+        } catch (IllegalArgumentException e) {
+            return JwtVerification.invalid(JwtVerification.Error.TOKEN_EMPTY);
+        } catch (JwtException e) {
+            return JwtVerification.invalid(JwtVerification.Error.TOKEN_INVALID);
+        }
+    }
+
     // ✅ JWT 검증 (향상된 에러 처리)
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (ExpiredJwtException e) {
             System.err.println("❌ JWT 토큰이 만료되었습니다: " + e.getMessage());
@@ -71,10 +93,7 @@ public class JwtUtil {
 
     // ✅ JWT에서 사용자 아이디 추출
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
@@ -82,10 +101,7 @@ public class JwtUtil {
     // ✅ JWT 만료 여부 확인
     public boolean isTokenExpired(String token) {
         try {
-            Date expiration = Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
+            Date expiration = parser.parseClaimsJws(token)
                     .getBody()
                     .getExpiration();
             return expiration.before(new Date());
@@ -97,10 +113,7 @@ public class JwtUtil {
     // ✅ JWT 만료 시간 가져오기
     public Date getExpirationDate(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
+            return parser.parseClaimsJws(token)
                     .getBody()
                     .getExpiration();
         } catch (JwtException e) {
@@ -110,24 +123,7 @@ public class JwtUtil {
 
     // ✅ 토큰 검증 실패 원인 반환
     public String getValidationError(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return null; // 유효한 토큰
-        } catch (ExpiredJwtException e) {
-            return "TOKEN_EXPIRED";
-        } catch (UnsupportedJwtException e) {
-            return "TOKEN_UNSUPPORTED";
-        } catch (MalformedJwtException e) {
-            return "TOKEN_MALFORMED";
-        } catch (SignatureException e) {
-            return "TOKEN_INVALID_SIGNATURE";
-        } catch (IllegalArgumentException e) {
-            return "TOKEN_EMPTY";
-        } catch (JwtException e) {
-            return "TOKEN_INVALID";
-        }
+        JwtVerification verification = verify(token);
+        return verification.isValid() ? null : verification.getError().name();
     }
 }
@@ -0,0 +1,68 @@
+package com.hulahoop.blueback.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * JWT 한 번 파싱한 결과 (성공 시 claims, 실패 시 원인)
+ * - VerifiedTokenCache 에서 꺼낸 결과는 claims 없이 사용자 아이디만 가짐
+ */
+public final class JwtVerification {
+
+    /** 검증 실패 원인 (이름이 그대로 응답의 error 값으로 쓰임) */
+    public enum Error {
+        TOKEN_EXPIRED("토큰이 만료되었습니다. 다시 로그인해주세요."),
+        TOKEN_UNSUPPORTED("유효하지 않은 토큰입니다."),
+        TOKEN_MALFORMED("토큰 형식이 올바르지 않습니다."),
+        TOKEN_INVALID_SIGNATURE("토큰 서명이 유효하지 않습니다."),
+        TOKEN_EMPTY("토큰이 비어있습니다."),
+        TOKEN_INVALID("유효하지 않은 토큰입니다.");
+
+        private final String message;
+
+        Error(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final Claims claims;
+    private final String username;
+    private final Error error;
+
+    private JwtVerification(Claims claims, String username, Error error) {
+        this.claims = claims;
+        this.username = username;
+        this.error = error;
+    }
+
+    static JwtVerification valid(Claims claims) {
+        return new JwtVerification(claims, claims.getSubject(), null);
+    }
+
+    static JwtVerification cached(String username) {
+        return new JwtVerification(null, username, null);
+    }
+
+    static JwtVerification invalid(Error error) {
+        return new JwtVerification(null, null, error);
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    public Error getError() {
+        return error;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
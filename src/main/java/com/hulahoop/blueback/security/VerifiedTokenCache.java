@@ -0,0 +1,125 @@
+package com.hulahoop.blueback.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검증이 끝난 JWT 캐시 (요청마다 HMAC 서명 검증/디코딩 반복 방지)
+ * - 키: 토큰 문자열 그대로 (서명까지 포함된 값이라 위조 토큰이 다른 토큰의 결과를 얻을 수 없음,
+ *   별도 digest 계산은 HMAC 검증을 줄이려는 목적과 맞지 않아 사용하지 않음)
+ * - 값: 사용자 아이디 + 토큰 자체의 만료 시각 (exp 이후에는 캐시에 있어도 다시 검증 → 만료 응답)
+ * - ConcurrentHashMap 이라 조회는 잠금 없이 처리 (보안 필터가 직렬화 지점이 되지 않도록)
+ * - 최대 개수를 넘으면 한 스레드만 정리: 만료 항목 제거 → 그래도 많으면 EVICT_TO 비율까지 임의 제거
+ * - 검증에 실패한 토큰은 저장하지 않음
+ */
+@Component
+public class VerifiedTokenCache {
+
+    // 정리 후 목표 크기 (최대 개수 대비) — 정리가 매 저장마다 일어나지 않도록 여유를 둠
+    private static final double EVICT_TO = 0.9;
+
+    private record Entry(String username, long expiresAt) {
+    }
+
+    private final JwtUtil jwtUtil;
+    private final int maxSize;
+
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer verifyTimer;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, MeterRegistry meterRegistry,
+            @Value("${jwt.cache.max-size:10000}") int maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.maxSize = maxSize;
+
+        this.hits = Counter.builder("jwt.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("jwt.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.verifyTimer = Timer.builder("jwt.verify.time")
+                .description("캐시 미스 시 JWT 서명 검증 소요 시간")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.cache.evictions", evictions, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 결과가 있으면 바로 반환, 없으면 검증 후 성공한 경우만 저장
+     */
+    public JwtVerification verify(String token) {
+        long now = System.currentTimeMillis();
+
+        Entry entry = entries.get(token);
+        if (entry != null) {
+            if (entry.expiresAt() > now) {
+                hits.increment();
+                return JwtVerification.cached(entry.username());
+            }
+            entries.remove(token, entry);
+        }
+
+        misses.increment();
+        JwtVerification verification = verifyTimer.record(() -> jwtUtil.verify(token));
+
+        if (verification.isValid()) {
+            Date expiration = verification.getClaims().getExpiration();
+            if (expiration != null) {
+                entries.put(token, new Entry(verification.getUsername(), expiration.getTime()));
+                if (entries.size() > maxSize) {
+                    sweep(now);
+                }
+            }
+        }
+        return verification;
+    }
+
+    /**
+     * 최대 개수 초과 시 정리 (이미 다른 스레드가 정리 중이면 건너뜀)
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = (int) (maxSize * EVICT_TO);
+
+            // 1) 만료된 토큰부터
+            entries.values().removeIf(e -> {
+                if (e.expiresAt() <= now) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            });
+
+            // 2) 그래도 많으면 순회 순서대로 제거 (해시 순서라 사실상 임의 선택)
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
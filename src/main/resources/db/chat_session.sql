@@ -0,0 +1,19 @@
+-- 챗봇 대화 세션 (chat.session.store=jdbc 일 때 사용)
+-- - data: UserSessionCodec 으로 직렬화한 세션 (버전 바이트 + 태그 바이너리)
+-- - step: 디버깅/모니터링용으로 현재 단계만 평문으로 함께 저장
+-- - version: 저장할 때마다 1 증가, 읽은 version 과 같을 때만 덮어씀 (노드 간 오래된 내용 덮어쓰기 방지)
+-- - updated_at: 마지막 저장 시각 (DB 시계 기준), 유휴 세션 정리에 사용
+CREATE TABLE IF NOT EXISTS T_ChatSession (
+    user_id    VARCHAR(64)  NOT NULL PRIMARY KEY,
+    data       MEDIUMBLOB   NOT NULL,
+    step       VARCHAR(32)  NOT NULL,
+    version    BIGINT       NOT NULL DEFAULT 0,
+    updated_at DATETIME(3)  NOT NULL,
+    INDEX idx_chat_session_updated_at (updated_at)
+);
+
+-- version 컬럼 이전에 만든 테이블 보강 (MySQL 에는 ADD COLUMN IF NOT EXISTS 가 없어 information_schema 로 확인)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'T_ChatSession' AND column_name = 'version') = 0, 'ALTER TABLE T_ChatSession ADD COLUMN version BIGINT NOT NULL DEFAULT 0 AFTER step', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,9 @@
+-- 스케줄러 lease (여러 노드 중 한 노드만 작업을 실행하도록 하는 DB 기반 잠금)
+-- - name: 작업 이름, owner: 실행 중인 노드 (호스트명:UUID), expires_at: 소유 만료 시각 (DB 시계 기준)
+-- - 소유 노드는 실행할 때마다 expires_at 을 연장, 노드가 죽으면 만료 후 다른 노드가 가져감
+-- - 서버 시작 시마다 실행됨 (SchemaMigrationConfig) → IF NOT EXISTS 로 여러 번 실행해도 같은 결과
+CREATE TABLE IF NOT EXISTS T_SchedulerLease (
+    name       VARCHAR(64)  NOT NULL PRIMARY KEY,
+    owner      VARCHAR(128) NOT NULL,
+    expires_at DATETIME(3)  NOT NULL
+);
@@ -0,0 +1,36 @@
+-- 취소된 원거래 집합 (T_TransactionHistory 의 취소 기록을 원거래 번호 기준으로 미리 모아 둔 테이블)
+-- - 거래 내역 조회 시 행마다 EXISTS 상관 서브쿼리를 돌리는 대신 PK 조인 한 번으로 취소 여부 판단
+-- - 취소 기록은 제휴사 서비스가 직접 INSERT 하므로 트리거로 유지
+--   (MySQL 트리거는 자기 테이블을 UPDATE 할 수 없어 원거래 행에 플래그를 두지 않고 별도 테이블 사용)
+-- - 모든 문장이 한 줄짜리 트리거라 DELIMITER 없이 그대로 실행 가능
+-- - 서버 시작 시마다 실행되므로 (SchemaMigrationConfig) 모든 문장은 여러 번 실행해도 결과가 같아야 함
+
+CREATE TABLE IF NOT EXISTS T_TransactionCancel (
+    original_transaction_num BIGINT NOT NULL PRIMARY KEY
+);
+
+-- 트리거를 먼저 만들고 기존 기록을 반영 → 그 사이에 들어온 취소 기록도 빠지지 않음
+DROP TRIGGER IF EXISTS trg_transaction_cancel_insert;
+CREATE TRIGGER trg_transaction_cancel_insert AFTER INSERT ON T_TransactionHistory FOR EACH ROW
+INSERT IGNORE INTO T_TransactionCancel (original_transaction_num)
+SELECT NEW.original_transaction_num FROM DUAL WHERE NEW.original_transaction_num IS NOT NULL;
+
+-- 취소 기록이 지워지면 (같은 원거래의 다른 취소 기록이 없을 때) 집합에서도 제거
+DROP TRIGGER IF EXISTS trg_transaction_cancel_delete;
+CREATE TRIGGER trg_transaction_cancel_delete AFTER DELETE ON T_TransactionHistory FOR EACH ROW
+DELETE FROM T_TransactionCancel
+WHERE original_transaction_num = OLD.original_transaction_num
+  AND NOT EXISTS (SELECT 1 FROM T_TransactionHistory h WHERE h.original_transaction_num = OLD.original_transaction_num);
+
+-- 기존 취소 기록 반영
+INSERT IGNORE INTO T_TransactionCancel (original_transaction_num)
+SELECT DISTINCT original_transaction_num
+FROM T_TransactionHistory
+WHERE original_transaction_num IS NOT NULL;
+
+-- 회원별 거래 내역 (payment_date, transaction_num) 역순 조회/keyset 페이지용
+-- MySQL 에는 CREATE INDEX IF NOT EXISTS 가 없어 information_schema 로 확인 후 실행
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'T_TransactionHistory' AND index_name = 'idx_transaction_member_payment') = 0, 'CREATE INDEX idx_transaction_member_payment ON T_TransactionHistory (member_code, payment_date, transaction_num)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
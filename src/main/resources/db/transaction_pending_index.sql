@@ -0,0 +1,9 @@
+-- 예약 거래 상태 전환 (TransactionStatusScheduler) 용 인덱스
+-- - status = 'P' AND start_date <= NOW() ORDER BY start_date LIMIT n 을 인덱스 범위 스캔으로 처리
+-- - 다음 start_date (MIN) 조회도 같은 인덱스로 한 번에 찾음
+-- - 서버 시작 시마다 실행되므로 (SchemaMigrationConfig) 이미 있으면 건너뜀
+--   (MySQL 에는 CREATE INDEX IF NOT EXISTS 가 없어 information_schema 로 확인 후 실행)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'T_TransactionHistory' AND index_name = 'idx_transaction_status_start') = 0, 'CREATE INDEX idx_transaction_status_start ON T_TransactionHistory (status, start_date)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
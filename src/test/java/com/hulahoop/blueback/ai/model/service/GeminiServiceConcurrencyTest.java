@@ -0,0 +1,124 @@
+package com.hulahoop.blueback.ai.model.service;
+
+import com.hulahoop.blueback.ai.model.service.bike.BikeFlowRouter;
+import com.hulahoop.blueback.ai.model.service.movie.MovieFlowRouter;
+import com.hulahoop.blueback.ai.model.service.session.InMemoryUserSessionRepository;
+import com.hulahoop.blueback.member.model.dao.UserMapper;
+import com.hulahoop.blueback.member.model.service.MemberLookupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * askGemini 동시성 부하 테스트
+ * - 게이트웨이 왕복을 흉내 내는 느린 라우터로 처리량을 측정
+ */
+class GeminiServiceConcurrencyTest {
+
+    private static final long TURN_MILLIS = 100;
+    private static final int TURNS_PER_USER = 3;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private GeminiService geminiService;
+
+    @BeforeEach
+    void setUp() {
+        MovieFlowRouter movieFlowRouter = mock(MovieFlowRouter.class);
+        BikeFlowRouter bikeFlowRouter = mock(BikeFlowRouter.class);
+
+        when(movieFlowRouter.handle(anyString(), any(), anyString())).thenAnswer(inv -> {
+            int now = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(TURN_MILLIS); // 게이트웨이 왕복 시간
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return "ok";
+        });
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemoryUserSessionRepository sessionStore = new InMemoryUserSessionRepository(meterRegistry, Duration.ofMinutes(30), 10_000);
+        HistoryCompactor historyCompactor = new HistoryCompactor(new ObjectMapper(), meterRegistry, 6000, 1500, 80);
+        MemberLookupService memberLookupService = new MemberLookupService(mock(UserMapper.class), meterRegistry,
+                Duration.ofSeconds(30), 2000);
+        geminiService = new GeminiService(movieFlowRouter, bikeFlowRouter, sessionStore, historyCompactor,
+                memberLookupService, mock(MembershipVerificationService.class), WebClient.builder());
+    }
+
+    @Test
+    void throughputGrowsWithConcurrentUsers() throws Exception {
+        double single = turnsPerSecond(1);
+        double eight = turnsPerSecond(8);
+
+        // 전역 락이라면 사용자 수와 무관하게 처리량이 일정함
+        assertThat(single).as("users=1 처리량").isGreaterThan(0);
+        assertThat(eight)
+                .as("users=8 처리량 (users=1 → %.1f turns/s)", single)
+                .isGreaterThan(single * 4);
+    }
+
+    @Test
+    void turnsOfSameUserAreSerialized() throws Exception {
+        maxInFlight.set(0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(pool.submit(() -> geminiService.askGemini("영화 예매", "same-user")));
+        }
+        for (Future<?> f : futures) {
+            f.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(maxInFlight.get()).isEqualTo(1);
+    }
+
+    private double turnsPerSecond(int users) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int u = 0; u < users; u++) {
+            String userId = "load-user-" + users + "-" + u;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int t = 0; t < TURNS_PER_USER; t++) {
+                    geminiService.askGemini("영화 예매", userId);
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+
+        return users * TURNS_PER_USER / (elapsed / 1_000_000_000.0);
+    }
+}
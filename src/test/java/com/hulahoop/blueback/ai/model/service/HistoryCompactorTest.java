@@ -0,0 +1,114 @@
+package com.hulahoop.blueback.ai.model.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HistoryCompactor 테스트
+ * - 예산 안이면 그대로, 넘으면 최근 턴 유지 + 요약 턴
+ * - user/model 교대를 위한 확인 응답 삽입
+ * - 보낸 본문 크기와 접힌 턴 수 기록
+ */
+class HistoryCompactorTest {
+
+    private static final int MAX_CHARS = 100;
+    private static final int SUMMARY_MAX_CHARS = 60;
+    private static final int SUMMARY_LINE_CHARS = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+    private HistoryCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        compactor = new HistoryCompactor(objectMapper, meterRegistry, MAX_CHARS, SUMMARY_MAX_CHARS, SUMMARY_LINE_CHARS);
+    }
+
+    @Test
+    void keepsHistoryWithinBudgetAsIs() {
+        List<Map<String, Object>> history = List.of(turn("user", "안녕"), turn("model", "안녕하세요"));
+
+        assertThat(compactor.compact(history)).isSameAs(history);
+    }
+
+    @Test
+    void foldsOldTurnsIntoSummaryWithinBudget() {
+        List<Map<String, Object>> history = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            history.add(turn(i % 2 == 0 ? "user" : "model", i + "번째 턴 " + "가".repeat(30)));
+        }
+
+        List<Map<String, Object>> compacted = compactor.compact(history);
+
+        // 최근 턴은 예산(MAX_CHARS) 안에서 그대로 유지
+        List<Map<String, Object>> kept = compacted.subList(compacted.size() - 2, compacted.size());
+        assertThat(kept).containsExactlyElementsOf(history.subList(8, 10));
+        assertThat(kept.stream().mapToInt(t -> text(t).length()).sum()).isLessThanOrEqualTo(MAX_CHARS);
+
+        // 첫 턴은 요약 — 예산 초과 시 오래된 줄부터 버리고 줄마다 SUMMARY_LINE_CHARS 로 자름
+        String summary = text(compacted.get(0));
+        assertThat(compacted.get(0).get("role")).isEqualTo("user");
+        assertThat(summary).startsWith("[이전 대화 요약]\n");
+        assertThat(summary.length() - "[이전 대화 요약]\n".length()).isLessThanOrEqualTo(SUMMARY_MAX_CHARS);
+        assertThat(summary).contains("AI: 7번째 턴 가가가가…").doesNotContain("0번째");
+    }
+
+    @Test
+    void insertsAckWhenFirstKeptTurnIsUser() {
+        List<Map<String, Object>> history = List.of(
+                turn("user", "가".repeat(60)),
+                turn("model", "나".repeat(60)),
+                turn("user", "다".repeat(60)));
+
+        List<Map<String, Object>> compacted = compactor.compact(history);
+
+        assertThat(compacted).extracting(t -> t.get("role")).containsExactly("user", "model", "user");
+        assertThat(text(compacted.get(1))).isEqualTo("네, 이전 대화 내용을 참고하겠습니다.");
+        assertThat(compacted.get(2)).isSameAs(history.get(2));
+    }
+
+    @Test
+    void skipsAckWhenFirstKeptTurnIsModel() {
+        List<Map<String, Object>> history = List.of(
+                turn("user", "가".repeat(60)),
+                turn("model", "나".repeat(60)));
+
+        List<Map<String, Object>> compacted = compactor.compact(history);
+
+        assertThat(compacted).extracting(t -> t.get("role")).containsExactly("user", "model");
+        assertThat(compacted.get(1)).isSameAs(history.get(1));
+    }
+
+    @Test
+    void recordsCompactedSizeAndFoldedTurns() throws Exception {
+        List<Map<String, Object>> history = List.of(
+                turn("user", "가".repeat(60)),
+                turn("model", "나".repeat(60)),
+                turn("user", "다".repeat(60)));
+
+        byte[] body = compactor.buildRequestBody(history);
+
+        assertThat(body).isEqualTo(objectMapper.writeValueAsBytes(Map.of("contents", compactor.compact(history))));
+        assertThat(meterRegistry.get("gemini.request.bytes").tag("stage", "compacted").summary().totalAmount())
+                .isEqualTo(body.length);
+        assertThat(meterRegistry.get("gemini.history.folded.turns").summary().totalAmount()).isEqualTo(2);
+    }
+
+    private static Map<String, Object> turn(String role, String text) {
+        return Map.of("role", role, "parts", List.of(Map.of("text", text)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String text(Map<String, Object> turn) {
+        return (String) ((List<Map<String, Object>>) turn.get("parts")).get(0).get("text");
+    }
+}
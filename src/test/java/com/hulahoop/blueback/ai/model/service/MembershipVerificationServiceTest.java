@@ -0,0 +1,101 @@
+package com.hulahoop.blueback.ai.model.service;
+
+import com.hulahoop.blueback.member.model.service.MemberLookupService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * MembershipVerificationService 테스트 (로컬 HTTP 서버를 게이트웨이로 사용)
+ * - 응답이 멈춰도 대기 기한 안에 비회원으로 처리, 기한이 지난 확인 중 항목은 다시 확인
+ * - 캐시는 최대 개수 근처로 유지
+ */
+class MembershipVerificationServiceTest {
+
+    private static final int MAX_SIZE = 20;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean hang;
+
+    private HttpServer gateway;
+    private MembershipVerificationService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gateway = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        gateway.setExecutor(Executors.newCachedThreadPool());
+        gateway.createContext("/api/gateway/dispatch", exchange -> {
+            requests.incrementAndGet();
+            if (hang) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{\"exists\":true}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        gateway.start();
+
+        service = new MembershipVerificationService(mock(MemberLookupService.class), new SimpleMeterRegistry(),
+                Duration.ofHours(6), Duration.ofMinutes(5), 4, MAX_SIZE, Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(service, "gatewayUrl", "http://127.0.0.1:" + gateway.getAddress().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+        gateway.stop(0);
+    }
+
+    @Test
+    void cachesMemberResult() {
+        assertThat(service.isCinemaMember("010-1111-2222")).isTrue();
+        assertThat(service.isCinemaMember("010-1111-2222")).isTrue();
+
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void stuckCheckTimesOutAndIsRetried() {
+        hang = true;
+
+        long start = System.nanoTime();
+        assertThat(service.isCinemaMember("010-1111-2222")).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(4));
+
+        // 기한이 지난 확인 중 항목은 캐시 적중으로 취급하지 않고 새로 확인
+        hang = false;
+        assertThat(service.isCinemaMember("010-1111-2222")).isTrue();
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void staysBounded() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(service.isBikeMember("010-0000-" + String.format("%04d", i))).isTrue();
+        }
+
+        assertThat(service.size()).isLessThanOrEqualTo(MAX_SIZE + 1);
+    }
+}
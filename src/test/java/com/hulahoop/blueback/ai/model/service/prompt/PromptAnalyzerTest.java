@@ -0,0 +1,117 @@
+package com.hulahoop.blueback.ai.model.service.prompt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PromptAnalyzer 테스트
+ * - 날짜 우선순위 (대화 기준 날짜 / 상영 일정 필터), 잘못된 날짜
+ * - 장소 키워드 (장소 토큰에 붙은 날짜/시간 유지), 좌석 라벨과 좌석이 아닌 토큰, 시간 범위, 번호 선택
+ */
+class PromptAnalyzerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 10);
+
+    @Test
+    void resolvesTargetDateAndFilter() {
+        assertThat(analyze("내일 영화 보고 싶어").targetDate()).isEqualTo(TODAY.plusDays(1));
+        assertThat(analyze("내일 영화 보고 싶어").dateFilter()).isEqualTo("tomorrow");
+
+        assertThat(analyze("모레 자전거").targetDate()).isEqualTo(TODAY.plusDays(2));
+        assertThat(analyze("모레 자전거").dateFilter()).isNull();
+
+        PromptAnalysis monthDay = analyze("12월 25일 강남구 영화관");
+        assertThat(monthDay.targetDate()).isEqualTo(LocalDate.of(2025, 12, 25));
+        assertThat(monthDay.dateFilter()).isEqualTo("2025-12-25");
+
+        // 대화 기준 날짜는 내일 우선, 상영 일정 필터는 오늘 우선
+        PromptAnalysis both = analyze("오늘 말고 내일");
+        assertThat(both.targetDate()).isEqualTo(TODAY.plusDays(1));
+        assertThat(both.dateFilter()).isEqualTo("today");
+
+        assertThat(analyze("영화 예매").targetDate()).isEqualTo(TODAY);
+        assertThat(analyze("영화 예매").dateFilter()).isNull();
+    }
+
+    @Test
+    void invalidMonthDayFallsBackToToday() {
+        PromptAnalysis analysis = analyze("2월 30일 예매");
+
+        assertThat(analysis.targetDate()).isEqualTo(TODAY);
+        assertThat(analysis.dateFilter()).isEqualTo("2025-2-30");
+    }
+
+    @Test
+    void extractsFirstPlaceKeyword() {
+        assertThat(analyze("내일 잠실역 근처 자전거").placeKeyword()).isEqualTo("잠실역");
+        assertThat(analyze("서울시청역 근처").placeKeyword()).isEqualTo("서울시청역");
+        assertThat(analyze("역삼동, 강남구").placeKeyword()).isEqualTo("역삼동");
+        assertThat(analyze("오늘시간표").placeKeyword()).isNull();
+        assertThat(analyze("영화 예매").placeKeyword()).isNull();
+    }
+
+    @Test
+    void keepsDateAndTimeSwallowedByPlaceToken() {
+        PromptAnalysis analysis = analyze("CGV12월5일상영시");
+
+        assertThat(analysis.placeKeyword()).isEqualTo("CGV12월5일상영시");
+        assertThat(analysis.dateFilter()).isEqualTo("2025-12-5");
+        assertThat(analysis.targetDate()).isEqualTo(LocalDate.of(2025, 12, 5));
+
+        assertThat(analyze("잠실역18:30~19:00").timeRange().minutes()).isEqualTo(30);
+    }
+
+    @Test
+    void reportsTokensThatAreNotSeatLabels() {
+        assertThat(PromptAnalyzer.unmatchedSeatTokens("A3, AA4")).containsExactly("AA4");
+        assertThat(PromptAnalyzer.unmatchedSeatTokens("a3 b12,x")).containsExactly("X");
+        assertThat(PromptAnalyzer.unmatchedSeatTokens("A3번 자리")).isEmpty();
+        assertThat(PromptAnalyzer.unmatchedSeatTokens(" A3 , B4 ")).isEmpty();
+    }
+
+    @Test
+    void collectsSeatLabelsInOrder() {
+        assertThat(analyze("a3, B12 c4").seatLabels()).containsExactly("A3", "B12", "C4");
+        assertThat(analyze("A3번 자리").seatLabels()).containsExactly("A3");
+        assertThat(analyze("A123 AB3").seatLabels()).isEmpty();
+        assertThat(analyze("상세 좌석").seatLabels()).isEmpty();
+    }
+
+    @Test
+    void parsesTimeRange() {
+        PromptAnalysis.TimeRange range = analyze("18:30 ~ 19:00").timeRange();
+        assertThat(range.start()).isEqualTo(LocalTime.of(18, 30));
+        assertThat(range.end()).isEqualTo(LocalTime.of(19, 0));
+        assertThat(range.minutes()).isEqualTo(30);
+
+        assertThat(analyze("23:30~00:15").timeRange().minutes()).isEqualTo(45);
+        assertThat(analyze("9:00 ~ 10:00").timeRange().start().toString()).isEqualTo("09:00");
+        assertThat(analyze("25:00 ~ 26:00").timeRange()).isNull();
+        assertThat(analyze("18시 반부터").timeRange()).isNull();
+    }
+
+    @Test
+    void resolvesListIndex() {
+        assertThat(analyze("2번").index(5)).isEqualTo(2);
+        assertThat(analyze("6번").index(5)).isNull();
+        assertThat(analyze("첫번째").index(5)).isNull();
+        assertThat(analyze("99999999999").number()).isNull();
+    }
+
+    @Test
+    void nullPromptIsEmpty() {
+        PromptAnalysis analysis = PromptAnalyzer.analyze(null, TODAY);
+
+        assertThat(analysis.targetDate()).isEqualTo(TODAY);
+        assertThat(analysis.seatLabels()).isEmpty();
+        assertThat(analysis.number()).isNull();
+    }
+
+    private static PromptAnalysis analyze(String prompt) {
+        return PromptAnalyzer.analyze(prompt, TODAY);
+    }
+}
@@ -0,0 +1,84 @@
+package com.hulahoop.blueback.ai.model.service.prompt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PromptSignals 테스트
+ * - CONTAINS 신호는 모든 프롬프트/문구 조합에서 String.contains 와 같은 결과인지
+ * - 겹치는 문구, 시작 위치, 전체 일치, 예매번호 판정
+ */
+class PromptSignalsTest {
+
+    private static final String[] PROMPTS = {
+            "영화 예매하고 싶어",
+            "영화 예매 취소해줘",
+            "내 예매 취소",
+            "  예매 취소  ",
+            "내일 잠실역 근처 전기자전거 빌려줘",
+            "따릉이 예약",
+            "12월 25일 강남구 영화관 시간표 알려줘",
+            "상영 스케줄 좀",
+            "CONFIRM",
+            "결제할게요",
+            "예매함 내역 조회",
+            "바이크 대여",
+            "오늘 날씨 어때?",
+            "예예매매 취취소",
+            "",
+    };
+
+    @Test
+    void containsSignalsMatchStringContains() {
+        for (String prompt : PROMPTS) {
+            PromptSignals signals = PromptSignals.scan(prompt);
+            String lower = prompt.toLowerCase(Locale.ROOT).trim();
+            for (Signal signal : Signal.values()) {
+                if (signal.getMatch() != Signal.Match.CONTAINS) {
+                    continue;
+                }
+                boolean expected = false;
+                for (String phrase : signal.phrases()) {
+                    expected |= lower.contains(phrase.toLowerCase(Locale.ROOT));
+                }
+                assertThat(signals.has(signal)).as("%s / %s", prompt, signal).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void findsOverlappingPhrasesInOnePass() {
+        PromptSignals signals = PromptSignals.scan("영화 예매 취소해줘");
+
+        assertThat(signals.signals()).contains(Signal.MOVIE, Signal.MOVIE_BOOKING, Signal.BOOK,
+                Signal.BOOKING_CANCEL, Signal.CANCEL, Signal.STOP);
+    }
+
+    @Test
+    void startsWithIgnoresSurroundingWhitespaceOnly() {
+        assertThat(PromptSignals.scan("  예매 취소할래").startsWith(Signal.BOOKING_CANCEL)).isTrue();
+        assertThat(PromptSignals.scan("내 예매 취소").startsWith(Signal.BOOKING_CANCEL)).isFalse();
+        assertThat(PromptSignals.scan("예예매 취소").startsWith(Signal.BOOKING_CANCEL)).isFalse();
+    }
+
+    @Test
+    void exactSignalsNeedTheWholePrompt() {
+        assertThat(PromptSignals.scan(" 그만 ").signals()).contains(Signal.EXIT, Signal.DECLINE, Signal.STOP);
+        assertThat(PromptSignals.scan("그만할래").has(Signal.EXIT)).isFalse();
+        assertThat(PromptSignals.scan("2번").has(Signal.MENU_2)).isTrue();
+        assertThat(PromptSignals.scan("12번").has(Signal.MENU_2)).isFalse();
+        assertThat(PromptSignals.scan("예약").has(Signal.RESERVE_ONLY)).isTrue();
+    }
+
+    @Test
+    void detectsReservationNumber() {
+        assertThat(PromptSignals.scan("2025050112").isReservationNumber()).isTrue();
+        assertThat(PromptSignals.scan(" 2025050112 ").isReservationNumber()).isTrue();
+        assertThat(PromptSignals.scan("20250501123").isReservationNumber()).isFalse();
+        assertThat(PromptSignals.scan("202505011a").isReservationNumber()).isFalse();
+        assertThat(PromptSignals.scan(null).isBlank()).isTrue();
+    }
+}
@@ -0,0 +1,209 @@
+package com.hulahoop.blueback.ai.model.service.session;
+
+import com.hulahoop.blueback.ai.model.dao.ChatSessionMapper;
+import com.hulahoop.blueback.ai.model.dto.ChatSessionRowDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JdbcUserSessionRepository 테스트
+ * - DB 대신 메모리 Map 으로 ChatSessionMapper 를 흉내 내어 두 노드가 같은 테이블을 공유하는 상황 재현
+ * - 같은 사용자의 턴이 두 노드에서 번갈아 처리될 때 오래된 pending 이 새 내용을 덮어쓰지 않는지
+ */
+class JdbcUserSessionRepositoryTest {
+
+    private final InMemoryChatSessionMapper table = new InMemoryChatSessionMapper();
+
+    @Test
+    void stepTransitionIsVisibleToAnotherNode() throws Exception {
+        JdbcUserSessionRepository nodeA = repository();
+        JdbcUserSessionRepository nodeB = repository();
+
+        UserSession session = nodeA.getOrCreate("user1");
+        session.setStep(UserSession.Step.SEAT_SELECT);
+        session.setFlowType(UserSession.FlowType.MOVIE);
+        session.getBookingContext().put("movieTitle", "인사이드 아웃 2");
+        session.getBookingContext().put("seatCodes", List.of("A1", "A2"));
+        session.getBookingContext().put("price", 15000);
+        session.getBookingContext().put("lat", 37.5665);
+        session.setLastSeats(List.of(Map.of("seatCode", "A1", "available", true)));
+        session.addHistory(Map.of("role", "user", "parts", List.of(Map.of("text", "좌석 보여줘"))));
+        nodeA.afterTurn("user1");
+
+        // 단계 전환 → 주기 저장을 기다리지 않고 바로 저장
+        awaitWrites(1);
+        assertThat(table.step("user1")).isEqualTo("SEAT_SELECT");
+
+        UserSession restored = nodeB.getOrCreate("user1");
+        assertThat(restored.getStep()).isEqualTo(UserSession.Step.SEAT_SELECT);
+        assertThat(restored.getFlowType()).isEqualTo(UserSession.FlowType.MOVIE);
+        assertThat(restored.getBookingContext())
+                .containsEntry("movieTitle", "인사이드 아웃 2")
+                .containsEntry("seatCodes", List.of("A1", "A2"))
+                .containsEntry("price", 15000)
+                .containsEntry("lat", 37.5665);
+        assertThat(restored.getLastSeats()).containsExactly(Map.of("seatCode", "A1", "available", true));
+        assertThat(restored.getHistory()).hasSize(1);
+        nodeB.afterTurn("user1");
+
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void historyOnlyTurnsAreWrittenBehindAndReadFromPending() throws Exception {
+        JdbcUserSessionRepository node = repository();
+
+        node.getOrCreate("user2").addHistory(Map.of("role", "user", "parts", List.of(Map.of("text", "안녕"))));
+        node.afterTurn("user2");
+
+        // 단계가 그대로라 아직 DB 에는 없지만 같은 노드의 다음 턴은 pending 을 봄
+        assertThat(table.writes.get()).isZero();
+        assertThat(node.pendingCount()).isEqualTo(1);
+        assertThat(node.getOrCreate("user2").getHistory()).hasSize(1);
+        node.afterTurn("user2");
+
+        node.flushPending();
+        assertThat(table.writes.get()).isEqualTo(1);
+        assertThat(node.pendingCount()).isZero();
+        node.stop();
+    }
+
+    @Test
+    void stalePendingDoesNotOverwriteAnotherNodesWrite() throws Exception {
+        JdbcUserSessionRepository nodeA = repository();
+        JdbcUserSessionRepository nodeB = repository();
+
+        // A: 대화 기록만 늘어난 턴 → 저장 대기 (DB 에는 아직 없음)
+        nodeA.getOrCreate("user3").addHistory(Map.of("role", "user", "parts", List.of(Map.of("text", "영화 예매"))));
+        nodeA.afterTurn("user3");
+
+        // 다음 턴이 B 로 감: DB 에서 (빈 상태로) 읽고 단계 전환 → 바로 저장
+        UserSession onB = nodeB.getOrCreate("user3");
+        onB.setStep(UserSession.Step.SEAT_SELECT);
+        onB.setFlowType(UserSession.FlowType.MOVIE);
+        nodeB.afterTurn("user3");
+        awaitWrites(1);
+
+        // A 의 주기 저장: 읽은 뒤 B 가 먼저 저장했으므로 충돌 → 덮어쓰지 않고 버림
+        nodeA.flushPending();
+        assertThat(table.writes.get()).isEqualTo(1);
+        assertThat(table.step("user3")).isEqualTo("SEAT_SELECT");
+        assertThat(nodeA.pendingCount()).isZero();
+
+        // A 로 돌아와도 B 의 상태에서 이어감
+        assertThat(nodeA.getOrCreate("user3").getStep()).isEqualTo(UserSession.Step.SEAT_SELECT);
+        nodeA.afterTurn("user3");
+
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void pendingIsDiscardedWhenAnotherNodeIsAhead() throws Exception {
+        JdbcUserSessionRepository nodeA = repository();
+        JdbcUserSessionRepository nodeB = repository();
+
+        // 두 노드 모두 version 1 에서 시작
+        nodeA.getOrCreate("user4").setStep(UserSession.Step.SEAT_SELECT);
+        nodeA.afterTurn("user4");
+        awaitWrites(1);
+
+        // A: 기록만 늘어난 턴 (pending), B: 같은 세션을 읽어 단계 전환 저장 (version 2)
+        nodeA.getOrCreate("user4").addHistory(Map.of("role", "user", "parts", List.of(Map.of("text", "A1"))));
+        nodeA.afterTurn("user4");
+        UserSession onB = nodeB.getOrCreate("user4");
+        onB.setStep(UserSession.Step.MOVIE_PAYMENT_CONFIRM);
+        nodeB.afterTurn("user4");
+        awaitWrites(2);
+
+        // 다음 턴이 A 로 오면 자기 pending 대신 DB 의 최신 세션을 봄
+        assertThat(nodeA.getOrCreate("user4").getStep()).isEqualTo(UserSession.Step.MOVIE_PAYMENT_CONFIRM);
+        nodeA.afterTurn("user4");
+        nodeA.flushPending();
+        assertThat(table.step("user4")).isEqualTo("MOVIE_PAYMENT_CONFIRM");
+
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    private JdbcUserSessionRepository repository() {
+        return new JdbcUserSessionRepository(table, new SimpleMeterRegistry(), Duration.ofMinutes(30));
+    }
+
+    private void awaitWrites(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (table.writes.get() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(table.writes.get()).isGreaterThanOrEqualTo(count);
+    }
+
+    /**
+     * T_ChatSession 대용 (user_id → data, step, version), 문장 단위 원자성은 잠금으로 흉내
+     */
+    static class InMemoryChatSessionMapper implements ChatSessionMapper {
+
+        private record Row(byte[] data, String step, long version) {
+        }
+
+        private final Map<String, Row> rows = new HashMap<>();
+        final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public synchronized ChatSessionRowDTO findSession(String userId) {
+            Row row = rows.get(userId);
+            return row == null ? null : new ChatSessionRowDTO(row.data().clone(), row.version());
+        }
+
+        @Override
+        public synchronized Long findVersion(String userId) {
+            Row row = rows.get(userId);
+            return row == null ? null : row.version();
+        }
+
+        @Override
+        public synchronized int insertIfAbsent(String userId, byte[] bytes, String step) {
+            if (rows.containsKey(userId)) {
+                return 0;
+            }
+            rows.put(userId, new Row(bytes.clone(), step, 1));
+            writes.incrementAndGet();
+            return 1;
+        }
+
+        @Override
+        public synchronized int updateIfVersion(String userId, byte[] bytes, String step, long version) {
+            Row row = rows.get(userId);
+            if (row == null || row.version() != version) {
+                return 0;
+            }
+            rows.put(userId, new Row(bytes.clone(), step, version + 1));
+            writes.incrementAndGet();
+            return 1;
+        }
+
+        @Override
+        public synchronized int delete(String userId) {
+            return rows.remove(userId) != null ? 1 : 0;
+        }
+
+        @Override
+        public int deleteIdle(long idleSeconds) {
+            return 0;
+        }
+
+        synchronized String step(String userId) {
+            Row row = rows.get(userId);
+            return row == null ? null : row.step();
+        }
+    }
+}
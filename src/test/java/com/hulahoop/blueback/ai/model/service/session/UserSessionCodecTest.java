@@ -0,0 +1,175 @@
+package com.hulahoop.blueback.ai.model.service.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * UserSessionCodec 왕복 테스트
+ * - 모든 필드와 값 타입(Integer/Long/Double/BigDecimal/Boolean/null)이 그대로 돌아오는지
+ * - v1 으로 저장된 세션도 계속 읽히는지
+ */
+class UserSessionCodecTest {
+
+    @Test
+    void roundTripsEveryField() {
+        UserSession session = movieSession();
+
+        UserSession restored = UserSessionCodec.decode(UserSessionCodec.encode(session));
+
+        assertSameSession(restored, session);
+    }
+
+    @Test
+    void preservesValueTypes() {
+        UserSession session = new UserSession();
+        session.getBookingContext().put("ratePerHour", 3000);
+        session.getBookingContext().put("reservationId", 9_000_000_000L);
+        session.getBookingContext().put("distance", 1.25);
+        session.getBookingContext().put("amount", new BigDecimal("12000.50"));
+        session.getBookingContext().put("paid", false);
+        session.getBookingContext().put("nothing", null);
+        session.getBookingContext().put("date", LocalDate.of(2025, 5, 1));
+
+        Map<String, Object> restored = UserSessionCodec.decode(UserSessionCodec.encode(session)).getBookingContext();
+
+        assertThat(restored.get("ratePerHour")).isInstanceOf(Integer.class).isEqualTo(3000);
+        assertThat(restored.get("reservationId")).isInstanceOf(Long.class).isEqualTo(9_000_000_000L);
+        assertThat(restored.get("distance")).isInstanceOf(Double.class).isEqualTo(1.25);
+        assertThat(restored.get("amount")).isEqualTo(new BigDecimal("12000.50"));
+        assertThat(restored).containsEntry("paid", false)
+                .containsEntry("nothing", null)
+                .containsEntry("date", "2025-05-01");
+    }
+
+    @Test
+    void keepsUnusualHistoryEntriesAndUnknownKeys() {
+        UserSession session = new UserSession();
+        session.addHistory(Map.of("role", "user", "parts", List.of(Map.of("text", "안녕"))));
+        session.addHistory(Map.of("role", "function", "parts", List.of(Map.of("text", "{}"))));
+        session.addHistory(Map.of("role", "model", "parts", List.of(Map.of("text", "a"), Map.of("text", "b"))));
+        session.setLastBikes(List.of(
+                Map.of("bicycleCode", "B-1", "customField", "x"),
+                Map.of("bicycleCode", "B-2", "customField", "x")));
+
+        UserSession restored = UserSessionCodec.decode(UserSessionCodec.encode(session));
+
+        assertThat(restored.getHistory()).containsExactlyElementsOf(session.getHistory());
+        assertThat(restored.getLastBikes()).containsExactlyElementsOf(session.getLastBikes());
+    }
+
+    @Test
+    void decodesVersion1() {
+        UserSession session = movieSession();
+
+        byte[] v1 = UserSessionCodec.encodeV1(session);
+        assertThat(v1[0]).isEqualTo(UserSessionCodec.VERSION_1);
+
+        assertSameSession(UserSessionCodec.decode(v1), session);
+    }
+
+    @Test
+    void version2IsSmallerThanVersion1() {
+        UserSession session = movieSession();
+
+        assertThat(UserSessionCodec.encode(session).length)
+                .isLessThan(UserSessionCodec.encodeV1(session).length * 2 / 3);
+    }
+
+    @Test
+    void rejectsUnknownVersionAndTruncatedData() {
+        assertThatThrownBy(() -> UserSessionCodec.decode(new byte[] { 99 }))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        byte[] data = UserSessionCodec.encode(movieSession());
+        byte[] truncated = Arrays.copyOf(data, data.length / 2);
+        assertThatThrownBy(() -> UserSessionCodec.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertSameSession(UserSession actual, UserSession expected) {
+        assertThat(actual.getStep()).isEqualTo(expected.getStep());
+        assertThat(actual.getFlowType()).isEqualTo(expected.getFlowType());
+        assertThat(actual.getCancelState()).isEqualTo(expected.getCancelState());
+        assertThat(actual.getSelectedReservation()).isEqualTo(expected.getSelectedReservation());
+        assertThat(actual.getBookingContext()).isEqualTo(expected.getBookingContext());
+        assertThat(actual.getLastCinemas()).isEqualTo(expected.getLastCinemas());
+        assertThat(actual.getLastMovies()).isEqualTo(expected.getLastMovies());
+        assertThat(actual.getLastSeats()).isEqualTo(expected.getLastSeats());
+        assertThat(actual.getLastBikes()).isEqualTo(expected.getLastBikes());
+        assertThat(actual.getHistory()).isEqualTo(expected.getHistory());
+    }
+
+    /**
+     * 좌석 선택 단계까지 진행한 영화 예매 세션
+     */
+    private static UserSession movieSession() {
+        UserSession session = new UserSession();
+        session.setStep(UserSession.Step.SEAT_SELECT);
+        session.setFlowType(UserSession.FlowType.MOVIE);
+        session.setCancelState("SELECT");
+        session.setSelectedReservation("2025050112");
+
+        Map<String, Object> context = session.getBookingContext();
+        context.put("targetDate", "2025-05-01");
+        context.put("dateFilter", "today");
+        context.put("branchNum", "101");
+        context.put("branchName", "강남점");
+        context.put("scheduleNum", "5501");
+        context.put("movieTitle", "인사이드 아웃 2");
+
+        List<Map<String, Object>> cinemas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> cinema = new LinkedHashMap<>();
+            cinema.put("branch_num", 101 + i);
+            cinema.put("branch_name", "지점 " + i);
+            cinema.put("address", "서울특별시 강남구 테헤란로 " + (100 + i));
+            cinema.put("distance", 1.2 + i);
+            cinema.put("latitude", 37.49 + i * 0.01);
+            cinema.put("longitude", 127.02 + i * 0.01);
+            cinemas.add(cinema);
+        }
+        session.setLastCinemas(cinemas);
+
+        List<Map<String, Object>> movies = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Map<String, Object> movie = new LinkedHashMap<>();
+            movie.put("scheduleNum", 5500 + i);
+            movie.put("movieTitle", i % 2 == 0 ? "인사이드 아웃 2" : "파묘");
+            movie.put("screeningDate", "2025-05-01 1" + i + ":00");
+            movie.put("screeningNumber", i % 3 + 1);
+            movie.put("branchName", "강남점");
+            movies.add(movie);
+        }
+        session.setLastMovies(movies);
+
+        List<Map<String, Object>> seats = new ArrayList<>();
+        for (char row = 'A'; row <= 'H'; row++) {
+            for (int col = 1; col <= 12; col++) {
+                Map<String, Object> seat = new LinkedHashMap<>();
+                seat.put("seat_code", "S" + row + col);
+                seat.put("row_label", String.valueOf(row));
+                seat.put("col_num", col);
+                seat.put("is_aisle", col == 4 || col == 9 ? 1 : 0);
+                seat.put("reserved", (row + col) % 5 == 0);
+                seats.add(seat);
+            }
+        }
+        session.setLastSeats(seats);
+
+        for (int i = 0; i < 6; i++) {
+            String role = i % 2 == 0 ? "user" : "model";
+            session.addHistory(Map.of("role", role, "parts", List.of(Map.of("text", "메시지 " + i))));
+        }
+        return session;
+    }
+}
@@ -0,0 +1,96 @@
+package com.hulahoop.blueback.common.lease.model.dao;
+
+import com.hulahoop.blueback.common.lease.model.service.LeaseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LeaseMapper.xml SQL 테스트 (H2 MySQL 모드에 db/scheduler_lease.sql 적용 후 실제 쿼리 실행)
+ * - 두 LeaseService 가 같은 테이블을 공유: 단일 소유, 연장, 만료 후 인수, 반납 후 즉시 인수
+ * - 만료는 DB 시계(NOW(3)) 기준이라 짧은 ttl 과 실제 대기로 확인
+ */
+class LeaseMapperTest {
+
+    private static final String NAME = "transaction-status";
+    private static final Duration TTL = Duration.ofMillis(300);
+
+    private LeaseService nodeA;
+    private LeaseService nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:lease-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/scheduler_lease.sql")).execute(dataSource);
+        // 시작할 때마다 다시 실행되어도 실패하지 않아야 함
+        new ResourceDatabasePopulator(new ClassPathResource("db/scheduler_lease.sql")).execute(dataSource);
+
+        Configuration configuration = new Configuration(
+                new Environment("test", new JdbcTransactionFactory(), dataSource));
+        try (InputStream xml = new ClassPathResource("mapper/LeaseMapper.xml").getInputStream()) {
+            new XMLMapperBuilder(xml, configuration, "mapper/LeaseMapper.xml", configuration.getSqlFragments())
+                    .parse();
+        }
+        LeaseMapper mapper = new SqlSessionTemplate(new SqlSessionFactoryBuilder().build(configuration))
+                .getMapper(LeaseMapper.class);
+
+        nodeA = new LeaseService(mapper, new SimpleMeterRegistry());
+        nodeB = new LeaseService(mapper, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void onlyOneNodeOwnsTheLease() {
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+        assertThat(nodeB.tryAcquire(NAME, TTL)).isFalse();
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+    }
+
+    @Test
+    void ownerRenewalKeepsOtherNodeOut() throws Exception {
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+
+        // 만료 전에 연장하면 처음 ttl 이 지나도 계속 소유
+        Thread.sleep(200);
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+        Thread.sleep(200);
+
+        assertThat(nodeB.tryAcquire(NAME, TTL)).isFalse();
+    }
+
+    @Test
+    void otherNodeTakesOverAfterExpiry() throws Exception {
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+
+        // 소유 노드가 연장하지 못한 채 ttl 경과
+        Thread.sleep(TTL.toMillis() + 100);
+
+        assertThat(nodeB.tryAcquire(NAME, TTL)).isTrue();
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isFalse();
+    }
+
+    @Test
+    void releaseHandsOverImmediately() {
+        assertThat(nodeA.tryAcquire(NAME, Duration.ofMinutes(1))).isTrue();
+
+        nodeA.release(NAME);
+
+        assertThat(nodeB.tryAcquire(NAME, Duration.ofMinutes(1))).isTrue();
+        assertThat(nodeA.tryAcquire(NAME, Duration.ofMinutes(1))).isFalse();
+    }
+}
@@ -0,0 +1,145 @@
+package com.hulahoop.blueback.common.lease.model.service;
+
+import com.hulahoop.blueback.common.lease.model.dao.LeaseMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LeaseService 다중 노드 테스트 (두 LeaseService 가 같은 lease 테이블을 공유)
+ * - 한 번에 한 노드만 소유, 소유 노드의 연장, ttl 이 지난 뒤 인수, 반납 후 즉시 인수
+ */
+class LeaseServiceTest {
+
+    private static final String NAME = "transaction-status";
+    private static final Duration TTL = Duration.ofSeconds(90);
+
+    private final SharedLeaseTable table = new SharedLeaseTable();
+    private final LeaseService nodeA = new LeaseService(table, new SimpleMeterRegistry());
+    private final LeaseService nodeB = new LeaseService(table, new SimpleMeterRegistry());
+
+    @Test
+    void onlyOneNodeOwnsTheLease() {
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+        assertThat(nodeB.tryAcquire(NAME, TTL)).isFalse();
+    }
+
+    @Test
+    void ownerRenewsBeforeExpiry() {
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+
+        // 만료 전에 연장하면 처음 ttl 이 지나도 계속 소유
+        table.advance(Duration.ofSeconds(60));
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+        table.advance(Duration.ofSeconds(60));
+
+        assertThat(nodeB.tryAcquire(NAME, TTL)).isFalse();
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+    }
+
+    @Test
+    void otherNodeTakesOverAfterTtl() {
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+
+        // 소유 노드가 죽어 연장하지 못함
+        table.advance(TTL.plusMillis(1));
+
+        assertThat(nodeB.tryAcquire(NAME, TTL)).isTrue();
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isFalse();
+    }
+
+    @Test
+    void releaseHandsOverImmediately() {
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isTrue();
+
+        nodeA.release(NAME);
+
+        assertThat(nodeB.tryAcquire(NAME, TTL)).isTrue();
+        assertThat(nodeA.tryAcquire(NAME, TTL)).isFalse();
+    }
+
+    @Test
+    void concurrentAttemptsYieldSingleOwner() throws Exception {
+        int rounds = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                String name = NAME + "-" + round;
+                CyclicBarrier start = new CyclicBarrier(2);
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (LeaseService node : List.of(nodeA, nodeB)) {
+                    results.add(pool.submit(() -> {
+                        start.await(5, TimeUnit.SECONDS);
+                        return node.tryAcquire(name, TTL);
+                    }));
+                }
+                int owners = 0;
+                for (Future<Boolean> result : results) {
+                    owners += result.get(5, TimeUnit.SECONDS) ? 1 : 0;
+                }
+                assertThat(owners).as("round %d", round).isEqualTo(1);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * T_SchedulerLease 대역 (LeaseMapper.xml 의 조건을 그대로 옮김, 문장 단위 원자성은 잠금으로 흉내)
+     * - 시계는 DB 시계처럼 모든 노드가 공유하고 테스트에서 직접 진행
+     */
+    static class SharedLeaseTable implements LeaseMapper {
+
+        private record Row(String owner, long expiresAt) {
+        }
+
+        private final Map<String, Row> rows = new HashMap<>();
+        private final AtomicLong now = new AtomicLong(1_000_000);
+
+        void advance(Duration duration) {
+            now.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public synchronized int renewOrTakeOver(String name, String owner, long ttlMillis) {
+            Row row = rows.get(name);
+            if (row == null || !(row.owner().equals(owner) || row.expiresAt() < now.get())) {
+                return 0;
+            }
+            rows.put(name, new Row(owner, now.get() + ttlMillis));
+            return 1;
+        }
+
+        @Override
+        public synchronized int insertIfAbsent(String name, String owner, long ttlMillis) {
+            if (rows.containsKey(name)) {
+                return 0;
+            }
+            rows.put(name, new Row(owner, now.get() + ttlMillis));
+            return 1;
+        }
+
+        @Override
+        public synchronized int release(String name, String owner) {
+            Row row = rows.get(name);
+            if (row == null || !row.owner().equals(owner)) {
+                return 0;
+            }
+            rows.put(name, new Row(owner, now.get() - 1000));
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.hulahoop.blueback.email.model.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EmailOutbox 발송 테스트
+ * - 프로세스 안에서 도는 최소 SMTP 서버에 실제로 메일을 보내 연결 재사용/저널 복구/재시도를 확인
+ * - 발송 후 저널 정리, 저널에 남기지 않는 메일
+ */
+class EmailOutboxTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SmtpStub smtp;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStub();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtp.port());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    @Test
+    void replaysJournalAndSendsBatchOverOneConnection() throws Exception {
+        Path journal = tempDir.resolve("outbox.log");
+
+        // 시작하지 않은 outbox 에 등록 → 저널에만 남은 상태에서 종료 (서버 다운 상황)
+        EmailOutbox crashed = outbox(journal, Duration.ofMillis(50));
+        for (int i = 0; i < 5; i++) {
+            assertThat(crashed.enqueue("user" + i + "@hulahoop.test", "제목 " + i, "<p>본문 " + i + "</p>", true))
+                    .isTrue();
+        }
+        crashed.stop();
+        assertThat(smtp.messages()).isEmpty();
+
+        // 재시작 → 저널에서 복구해 한 번의 연결로 모두 발송
+        EmailOutbox restarted = outbox(journal, Duration.ofMillis(50));
+        restarted.start();
+        awaitDrained(restarted);
+        restarted.stop();
+
+        assertThat(smtp.messages()).hasSize(5);
+        assertThat(smtp.connections()).isEqualTo(1);
+        assertThat(smtp.messages().get(0)).contains("Subject:");
+
+        // 완료 기록(A)이 남았으므로 다시 시작해도 중복 발송하지 않음
+        EmailOutbox again = outbox(journal, Duration.ofMillis(50));
+        again.start();
+        assertThat(again.pendingCount()).isZero();
+        again.stop();
+        assertThat(smtp.messages()).hasSize(5);
+    }
+
+    @Test
+    void retriesTransientFailures() throws Exception {
+        smtp.rejectNextRecipients(2); // 451 로 두 번 거절
+
+        EmailOutbox outbox = outbox(tempDir.resolve("retry.log"), Duration.ofMillis(20));
+        outbox.start();
+        outbox.enqueue("retry@hulahoop.test", "임시 비밀번호", "임시 비밀번호: 1234", false);
+        awaitDrained(outbox);
+        outbox.stop();
+
+        assertThat(smtp.messages()).hasSize(1);
+        assertThat(smtp.connections()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void compactsJournalOnceMailIsSent() throws Exception {
+        Path journal = tempDir.resolve("compact.log");
+
+        EmailOutbox outbox = outbox(journal, Duration.ofMillis(20));
+        outbox.start();
+        outbox.enqueue("user@hulahoop.test", "예약 완료", "<p>예약 본문</p>", true);
+        awaitDrained(outbox);
+        awaitJournalEmpty(journal);
+        outbox.stop();
+
+        assertThat(smtp.messages()).hasSize(1);
+    }
+
+    @Test
+    void neverJournalsTransientMail() throws Exception {
+        Path journal = tempDir.resolve("transient.log");
+
+        // 시작 전이라 발송되지 않고 대기열에만 있는 상태
+        EmailOutbox outbox = outbox(journal, Duration.ofMillis(20));
+        assertThat(outbox.enqueueTransient("user@hulahoop.test", "임시 비밀번호", "임시 비밀번호: 1234", false))
+                .isTrue();
+        assertThat(journal).doesNotExist();
+
+        outbox.start();
+        awaitDrained(outbox);
+        outbox.stop();
+
+        assertThat(smtp.messages()).hasSize(1);
+        assertThat(journal).doesNotExist();
+    }
+
+    private static void awaitJournalEmpty(Path journal) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (Files.size(journal) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(Files.size(journal)).isZero();
+    }
+
+    private EmailOutbox outbox(Path journal, Duration backoff) {
+        return new EmailOutbox(mailSender, new SimpleMeterRegistry(), "noreply@hulahoop.test",
+                journal.toString(), 100, 1, 20, 5, backoff);
+    }
+
+    private static void awaitDrained(EmailOutbox outbox) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (outbox.pendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(outbox.pendingCount()).isZero();
+    }
+
+    /**
+     * 테스트용 최소 SMTP 서버 (EHLO/MAIL/RCPT/DATA/RSET/QUIT 만 지원)
+     */
+    static class SmtpStub implements AutoCloseable {
+
+        private final ServerSocket server;
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger recipientsToReject = new AtomicInteger();
+
+        SmtpStub() throws IOException {
+            server = new ServerSocket(0);
+            Thread acceptor = new Thread(this::acceptLoop, "smtp-stub");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        List<String> messages() {
+            return messages;
+        }
+
+        int connections() {
+            return connections.get();
+        }
+
+        void rejectNextRecipients(int count) {
+            recipientsToReject.set(count);
+        }
+
+        private void acceptLoop() {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept()) {
+                    connections.incrementAndGet();
+                    serve(socket);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        private void serve(Socket socket) throws IOException {
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 stub ESMTP");
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-stub\r\n250 8BITMIME");
+                    case "HELO", "MAIL", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "RCPT" -> reply(out, recipientsToReject.getAndDecrement() > 0 ? "451 try again later" : "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 end with .");
+                        StringBuilder data = new StringBuilder();
+                        String dataLine;
+                        while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+                            data.append(dataLine).append('\n');
+                        }
+                        messages.add(data.toString());
+                        reply(out, "250 queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 bye");
+                        return;
+                    }
+                    default -> reply(out, "502 not implemented");
+                }
+            }
+        }
+
+        private static void reply(OutputStream out, String text) throws IOException {
+            out.write((text + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
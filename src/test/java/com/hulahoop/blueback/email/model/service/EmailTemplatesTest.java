@@ -0,0 +1,34 @@
+package com.hulahoop.blueback.email.model.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EmailTemplates 테스트
+ * - 미리 컴파일된 템플릿 출력이 이전 String.format 본문과 바이트 단위로 같음 (영화/자전거)
+ */
+class EmailTemplatesTest {
+
+    @Test
+    void movieBodyMatchesLegacyFormat() {
+        String rendered = EmailTemplates.MOVIE_RESERVATION.render(
+                "듄: 파트 2", "2025-11-20 19:30 (CGV 강남)", "F7, F8", MailTemplate.formatAmount(1_234_000));
+
+        assertThat(rendered.getBytes(StandardCharsets.UTF_8)).isEqualTo(
+                LegacyEmailBodies.movie("듄: 파트 2", "2025-11-20 19:30 (CGV 강남)", "F7, F8", 1_234_000)
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void bikeBodyMatchesLegacyFormat() {
+        String rendered = EmailTemplates.BIKE_RESERVATION.render(
+                "일반 자전거", "2025-11-20 10:00 ~ 12:00", "잠실역 2번 출구", MailTemplate.formatAmount(3000));
+
+        assertThat(rendered.getBytes(StandardCharsets.UTF_8)).isEqualTo(
+                LegacyEmailBodies.bike("일반 자전거", "2025-11-20 10:00 ~ 12:00", "잠실역 2번 출구", 3000)
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+}
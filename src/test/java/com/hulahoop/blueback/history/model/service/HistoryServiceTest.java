@@ -0,0 +1,119 @@
+package com.hulahoop.blueback.history.model.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hulahoop.blueback.history.controller.HistoryController;
+import com.hulahoop.blueback.history.model.dao.HistoryMapper;
+import com.hulahoop.blueback.history.model.dto.HistoryPageDto;
+import com.hulahoop.blueback.history.model.dto.HistoryResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * HistoryService 페이지 조회 테스트 (HistoryMapper stub)
+ * - cursor 해석/생성, hasNext 판단, 페이지 크기 상한, 잘못된 cursor 는 400
+ */
+class HistoryServiceTest {
+
+    private static final LocalDateTime PAID_AT = LocalDateTime.of(2025, 3, 14, 18, 30, 5, 123_000_000);
+
+    private final HistoryMapper historyMapper = mock(HistoryMapper.class);
+    private HistoryService historyService;
+
+    @BeforeEach
+    void setUp() {
+        historyService = new HistoryService(historyMapper, new RestTemplate(), new ObjectMapper());
+        ReflectionTestUtils.setField(historyService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(historyService, "maxPageSize", 100);
+    }
+
+    @Test
+    void firstPageHasNextAndCursorKeepsFullPaymentTime() {
+        when(historyMapper.findHistoryPage(eq("M001"), isNull(), isNull(), isNull(), eq(3)))
+                .thenReturn(rows(3));
+
+        HistoryPageDto page = historyService.getTransactionHistoryPage("M001", null, null, 2);
+
+        assertThat(page.getItems()).extracting(HistoryResponseDto::getTransactionNum).containsExactly(100L, 99L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getNextCursor()).isEqualTo("2025-03-14T18:30:05.123_99");
+    }
+
+    @Test
+    void lastPageHasNoNext() {
+        when(historyMapper.findHistoryPage(any(), any(), any(), any(), anyInt())).thenReturn(rows(2));
+
+        HistoryPageDto page = historyService.getTransactionHistoryPage("M001", null, null, 2);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void parsesCursorBackIntoKeyset() {
+        when(historyMapper.findHistoryPage(any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        historyService.getTransactionHistoryPage("M001", "S", "2025-03-14T18:30:05.123_99", 10);
+
+        verify(historyMapper).findHistoryPage("M001", "S", PAID_AT, 99L, 11);
+    }
+
+    @Test
+    void capsPageSize() {
+        when(historyMapper.findHistoryPage(any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        historyService.getTransactionHistoryPage("M001", null, null, 10_000);
+        verify(historyMapper).findHistoryPage("M001", null, null, null, 101);
+
+        historyService.getTransactionHistoryPage("M001", null, null, 0);
+        verify(historyMapper).findHistoryPage("M001", null, null, null, 21);
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        for (String cursor : List.of("2025-03-14", "2025-03-14_99", "yesterday_99", "2025-03-14T18:30:05_x")) {
+            assertThatThrownBy(() -> historyService.getTransactionHistoryPage("M001", null, cursor, 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        verifyNoInteractions(historyMapper);
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        ResponseEntity<?> response = new HistoryController(historyService)
+                .getHistoryPage("M001", null, "not-a-cursor", 10);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private static List<HistoryResponseDto> rows(int count) {
+        List<HistoryResponseDto> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HistoryResponseDto dto = new HistoryResponseDto();
+            dto.setTransactionNum(100L - i);
+            dto.setPaymentDate(PAID_AT.toLocalDate());
+            dto.setPaymentAt(PAID_AT);
+            rows.add(dto);
+        }
+        return rows;
+    }
+}
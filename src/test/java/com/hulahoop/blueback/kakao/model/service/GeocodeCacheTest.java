@@ -0,0 +1,96 @@
+package com.hulahoop.blueback.kakao.model.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GeocodeCache 테스트
+ * - 결과 없음(null)은 음성 캐시, 호출 실패(예외)는 캐시하지 않음
+ * - 같은 키 동시 조회는 loader 한 번만 호출
+ */
+class GeocodeCacheTest {
+
+    private final GeocodeCache cache = new GeocodeCache(new SimpleMeterRegistry(), 100,
+            Duration.ofDays(7), Duration.ofMinutes(10));
+
+    @Test
+    void cachesNotFoundResult() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(cache.get("coord", "없는 주소", q -> {
+            calls.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(cache.get("coord", "없는 주소", q -> {
+            calls.incrementAndGet();
+            return new double[] { 1, 2 };
+        })).isNull();
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void doesNotCacheLoaderFailure() {
+        assertThatThrownBy(() -> cache.get("coord", "잠실역", q -> {
+            throw new IllegalStateException("429 Too Many Requests");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("coord", "잠실역", q -> new double[] { 37.51, 127.10 }))
+                .containsExactly(37.51, 127.10);
+    }
+
+    @Test
+    void coalescesConcurrentMisses() throws Exception {
+        int threads = 8;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch loaderEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<double[]>> futures = new ArrayList<>();
+        futures.add(pool.submit(() -> cache.get("coord", "강남역", q -> {
+            calls.incrementAndGet();
+            loaderEntered.countDown();
+            await(release);
+            return new double[] { 37.49, 127.02 };
+        })));
+        assertThat(loaderEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 1; i < threads; i++) {
+            futures.add(pool.submit(() -> cache.get("coord", "강남역", q -> {
+                calls.incrementAndGet();
+                return new double[] { 0, 0 };
+            })));
+        }
+        Thread.sleep(100); // 나머지 요청이 진행 중인 적재를 기다리도록
+        release.countDown();
+
+        for (Future<double[]> f : futures) {
+            assertThat(f.get(5, TimeUnit.SECONDS)).containsExactly(37.49, 127.02);
+        }
+        pool.shutdown();
+
+        assertThat(calls).hasValue(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
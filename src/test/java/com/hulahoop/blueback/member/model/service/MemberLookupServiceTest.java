@@ -0,0 +1,58 @@
+package com.hulahoop.blueback.member.model.service;
+
+import com.hulahoop.blueback.member.model.dao.UserMapper;
+import com.hulahoop.blueback.member.model.dto.MemberDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * MemberLookupService 테스트
+ * - 공유 캐시 적중
+ * - DB 조회 도중 invalidate 되면 그 결과를 캐시하지 않음
+ */
+class MemberLookupServiceTest {
+
+    private final UserMapper userMapper = mock(UserMapper.class);
+    private final MemberLookupService service = new MemberLookupService(userMapper, new SimpleMeterRegistry(),
+            Duration.ofMinutes(1), 100);
+
+    @Test
+    void servesRepeatedLookupFromSharedCache() {
+        when(userMapper.findById("user1")).thenReturn(member("M001", "홍길동"));
+
+        assertThat(service.findById("user1").getName()).isEqualTo("홍길동");
+        assertThat(service.findById("user1").getName()).isEqualTo("홍길동");
+
+        verify(userMapper, times(1)).findById("user1");
+    }
+
+    @Test
+    void skipsCachingReadThatRacedInvalidation() {
+        // 조회가 옛 값을 읽은 직후, 캐시에 넣기 전에 회원 정보 변경이 끝난 상황
+        when(userMapper.findById("user1")).thenAnswer(inv -> {
+            service.invalidateByMemberCode("M001");
+            return member("M001", "옛이름");
+        }).thenReturn(member("M001", "새이름"));
+
+        assertThat(service.findById("user1").getName()).isEqualTo("옛이름");
+        assertThat(service.size()).isZero();
+        assertThat(service.findById("user1").getName()).isEqualTo("새이름");
+
+        verify(userMapper, times(2)).findById("user1");
+    }
+
+    private static MemberDTO member(String memberCode, String name) {
+        MemberDTO member = new MemberDTO();
+        member.setMemberCode(memberCode);
+        member.setName(name);
+        return member;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hulahoop.blueback.member.model.service;
+
+import com.hulahoop.blueback.email.model.service.EmailOutbox;
+import com.hulahoop.blueback.member.model.dao.UserMapper;
+import com.hulahoop.blueback.member.model.dto.MemberDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * MemberService 임시 비밀번호 발급 테스트
+ * - 메일은 트랜잭션 커밋 이후에만 대기열에 등록
+ * - 대기열이 가득 차 있으면 예외 (트랜잭션 롤백 대상)
+ */
+class MemberServiceTest {
+
+    private final UserMapper userMapper = mock(UserMapper.class);
+    private final EmailOutbox emailOutbox = mock(EmailOutbox.class);
+    private final MemberService service = new MemberService(userMapper, emailOutbox, mock(MemberLookupService.class));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void enqueuesTempPasswordMailOnlyAfterCommit() {
+        when(userMapper.findByIdAndEmail("user1", "a@b.c")).thenReturn(member());
+        when(emailOutbox.hasCapacity()).thenReturn(true);
+        when(emailOutbox.enqueueTransient(anyString(), anyString(), anyString(), anyBoolean())).thenReturn(true);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.sendTempPassword("user1", "a@b.c");
+        verify(emailOutbox, never()).enqueueTransient(anyString(), anyString(), anyString(), anyBoolean());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(emailOutbox).enqueueTransient(eq("a@b.c"), anyString(), anyString(), eq(false));
+    }
+
+    @Test
+    void rejectsWhenOutboxIsFullBeforeCommit() {
+        when(userMapper.findByIdAndEmail("user1", "a@b.c")).thenReturn(member());
+        when(emailOutbox.hasCapacity()).thenReturn(false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThatThrownBy(() -> service.sendTempPassword("user1", "a@b.c"))
+                .isInstanceOf(RuntimeException.class);
+        verify(emailOutbox, never()).enqueueTransient(anyString(), anyString(), anyString(), anyBoolean());
+    }
+
+    private static MemberDTO member() {
+        MemberDTO member = new MemberDTO();
+        member.setMemberCode("M001");
+        return member;
+    }
+}
@@ -0,0 +1,85 @@
+package com.hulahoop.blueback.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * VerifiedTokenCache 테스트
+ * - 두 번째 조회부터 캐시 적중, 검증 실패는 저장하지 않음
+ * - 동시 조회 중에도 최대 개수 근처로 유지
+ */
+class VerifiedTokenCacheTest {
+
+    private static final int MAX_SIZE = 50;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "test-secret-key-for-verified-token-cache-0123456789");
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", 60_000L);
+        jwtUtil.init();
+        cache = new VerifiedTokenCache(jwtUtil, meterRegistry, MAX_SIZE);
+    }
+
+    @Test
+    void servesRepeatedTokenFromCache() {
+        String token = jwtUtil.generateToken("user1");
+
+        assertThat(cache.verify(token).getUsername()).isEqualTo("user1");
+        assertThat(cache.verify(token).getUsername()).isEqualTo("user1");
+
+        assertThat(meterRegistry.get("jwt.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheInvalidToken() {
+        JwtUtil otherKey = new JwtUtil();
+        ReflectionTestUtils.setField(otherKey, "secret", "another-secret-key-for-verified-token-cache-987654");
+        ReflectionTestUtils.setField(otherKey, "expirationMs", 60_000L);
+        otherKey.init();
+        String token = otherKey.generateToken("user1");
+
+        assertThat(cache.verify(token).isValid()).isFalse();
+        assertThat(cache.verify(token).isValid()).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void staysBoundedUnderConcurrentInserts() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    String token = jwtUtil.generateToken("user-" + thread + "-" + i);
+                    assertThat(cache.verify(token).isValid()).isTrue();
+                    assertThat(cache.verify(token).getUsername()).isEqualTo("user-" + thread + "-" + i);
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // 정리 중 다른 스레드가 넣은 항목만큼은 잠시 넘을 수 있음
+        assertThat(cache.size()).isLessThanOrEqualTo(MAX_SIZE + 8);
+    }
+}